@@ -0,0 +1,156 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import it.smartcommunitylabdhub.core.config.ConverterConfig;
+import it.smartcommunitylabdhub.core.models.dtos.ArtifactDTO;
+import it.smartcommunitylabdhub.core.models.dtos.DataItemDTO;
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+import it.smartcommunitylabdhub.core.models.dtos.LogDTO;
+import it.smartcommunitylabdhub.core.models.dtos.ProjectDTO;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.models.dtos.TaskDTO;
+import it.smartcommunitylabdhub.core.models.dtos.WorkflowDTO;
+
+/**
+ * Measures {@link ConversionUtils} convert and reverse for every registered
+ * kind, through the same factory wiring used by the application. The mlrun
+ * converter is covered by {@link MlrunConversionBenchmark}.
+ *
+ * Run with: mvn -Pjmh verify (pass -Djmh.args="..." for JMH options, eg.
+ * "-t 8" to measure contention)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({ "function", "artifact", "dataitem", "workflow", "project", "run", "task", "log", "cbor",
+            "integer", "datetime", "kryo", "blob" })
+    private String kind;
+
+    private AnnotationConfigApplicationContext context;
+
+    private Object source;
+    private Object converted;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // wire ConversionUtils static factory
+        context = context();
+
+        source = sample(kind);
+        converted = ConversionUtils.convert(source, kind);
+    }
+
+    static AnnotationConfigApplicationContext context() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("converter.storage.codec", System.getProperty("converter.storage.codec", "cbor"))));
+        context.register(ConverterConfig.class, ConversionUtils.class);
+        context.refresh();
+        return context;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object convert() {
+        return ConversionUtils.convert(source, kind);
+    }
+
+    @Benchmark
+    public Object reverse() {
+        return ConversionUtils.reverse(converted, kind);
+    }
+
+    private static Object sample(String kind) {
+        Map<String, Object> spec = spec();
+        switch (kind) {
+            case "function":
+                return function();
+            case "artifact":
+                return ArtifactDTO.builder().id("artifact-id").name("artifact").kind("dataset")
+                        .project("project").spec(spec).extra(extra()).state("CREATED").build();
+            case "dataitem":
+                return DataItemDTO.builder().id("dataitem-id").name("dataitem").kind("table")
+                        .project("project").spec(spec).extra(extra()).state("CREATED").build();
+            case "workflow":
+                return WorkflowDTO.builder().id("workflow-id").name("workflow").kind("pipeline")
+                        .project("project").spec(spec).extra(extra()).state("CREATED").build();
+            case "project":
+                return ProjectDTO.builder().id("project-id").name("project").description("description")
+                        .source("git://github.com/scc-digitalhub/project").extra(extra()).state("CREATED")
+                        .build();
+            case "run":
+                return RunDTO.builder().id("run-id").task("job://project/function").project("project")
+                        .kind("run").taskId("task-id").spec(spec).extra(extra()).state("CREATED").build();
+            case "task":
+                return TaskDTO.builder().id("task-id").task("job://project/function").project("project")
+                        .kind("job").spec(spec).extra(extra()).state("CREATED").build();
+            case "log":
+                return LogDTO.builder().id("log-id").project("project").run("run-id")
+                        .body(Map.of("content", "line\n".repeat(200))).startOffset(0L).endOffset(1000L)
+                        .extra(extra()).state("CREATED").build();
+            case "cbor":
+            case "kryo":
+            case "blob":
+                return spec;
+            case "integer":
+                return "12345";
+            case "datetime":
+                return ConversionUtils.reverse(new Date(), "datetime");
+            default:
+                throw new IllegalArgumentException("Unknown kind: " + kind);
+        }
+    }
+
+    static FunctionDTO function() {
+        return FunctionDTO.builder().id("function-id").name("function").kind("job").project("project")
+                .spec(spec()).extra(extra()).state("CREATED").build();
+    }
+
+    private static Map<String, Object> spec() {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("source", "s3://bucket/path/to/source.py");
+        spec.put("handler", "main");
+        spec.put("image", "mlrun/mlrun:1.4.0");
+        spec.put("args", List.of("--input", "data.csv", "--output", "model.pkl"));
+        spec.put("env", Map.of("LOG_LEVEL", "info", "THREADS", 4));
+        spec.put("resources", Map.of("limits", Map.of("cpu", "2", "memory", "4Gi")));
+        return spec;
+    }
+
+    private static Map<String, Object> extra() {
+        Map<String, Object> extra = new HashMap<>();
+        extra.put("tag", "latest");
+        extra.put("categories", List.of("ml", "training"));
+        return extra;
+    }
+}
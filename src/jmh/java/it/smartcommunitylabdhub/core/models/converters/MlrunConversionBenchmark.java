@@ -0,0 +1,52 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+
+/**
+ * Measures the function to mlrun conversion, only convert is implemented for
+ * this kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MlrunConversionBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+
+    private FunctionDTO function;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = ConversionBenchmark.context();
+        function = ConversionBenchmark.function();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object convert() {
+        return ConversionUtils.convert(function, "mlrunFunction");
+    }
+}
@@ -0,0 +1,117 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.smartcommunitylabdhub.core.models.converters.interfaces.Converter;
+import it.smartcommunitylabdhub.core.models.converters.types.CBORConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.KryoConverter;
+
+/**
+ * Compares the storage codecs on function and run specs shaped as the ones
+ * sent to mlrun. Encoded sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageCodecBenchmark {
+
+    @Param({ "cbor", "kryo" })
+    private String codec;
+
+    @Param({ "function", "run" })
+    private String spec;
+
+    private Converter<Map<String, Object>, byte[]> converter;
+
+    private Map<String, Object> value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        converter = codec.equals("kryo") ? new KryoConverter() : new CBORConverter();
+        value = spec.equals("run") ? runSpec() : functionSpec();
+        encoded = converter.convert(value);
+
+        System.out.println("\n" + codec + " " + spec + " spec: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return converter.convert(value);
+    }
+
+    @Benchmark
+    public Map<String, Object> decode() {
+        return converter.reverseConvert(encoded);
+    }
+
+    static Map<String, Object> functionSpec() {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("command", "");
+        spec.put("args", new ArrayList<>());
+        spec.put("image", "mlrun/mlrun");
+        spec.put("default_handler", "train");
+        spec.put("description", "train a classifier on the iris dataset");
+        spec.put("entry_points", Map.of("train", Map.of(
+                "name", "train",
+                "doc", "train and evaluate the model",
+                "parameters", List.of(
+                        Map.of("name", "context", "default", ""),
+                        Map.of("name", "dataset", "type", "DataItem", "default", ""),
+                        Map.of("name", "label_column", "type", "str", "default", "label")),
+                "outputs", List.of(Map.of("default", "")),
+                "lineno", 12)));
+        spec.put("env", List.of(
+                Map.of("name", "V3IO_API", "value", ""),
+                Map.of("name", "MLRUN_HTTPDB__HTTP__VERIFY", "value", "false"),
+                Map.of("name", "MLRUN_EXEC_CONFIG", "value", "")));
+        spec.put("build", Map.of(
+                "functionSourceCode", "aW1wb3J0IG1scnVuCmltcG9ydCBwYW5kYXMgYXMgcGQKCmRlZiB0cmFpbihjb250ZXh0LCBkYXRhc2V0KToKICAgIGRmID0gZGF0YXNldC5hc19kZigpCiAgICBjb250ZXh0LmxvZ19yZXN1bHQoInJvd3MiLCBsZW4oZGYpKQo=",
+                "code_origin", "git://github.com/scc-digitalhub/examples#refs/heads/main",
+                "origin_filename", "train.py",
+                "requirements", List.of("pandas", "scikit-learn==1.2.2")));
+        spec.put("resources", Map.of(
+                "requests", Map.of("cpu", "500m", "memory", "1Gi"),
+                "limits", Map.of("cpu", "2", "memory", "4Gi")));
+        spec.put("volumes", new ArrayList<>());
+        spec.put("volume_mounts", new ArrayList<>());
+        spec.put("replicas", 1);
+        spec.put("service_account", "default");
+        spec.put("priority_class_name", "igz-workload-medium");
+        spec.put("disable_auto_mount", false);
+        return spec;
+    }
+
+    static Map<String, Object> runSpec() {
+        // as built for a job run, the function spec merged with the task spec
+        Map<String, Object> spec = functionSpec();
+        spec.put("function", "job://project/train:4b3c8e7a-1f0d-4c1e-9a6b-2f5d7c9e8a10");
+        spec.put("parameters", Map.of("label_column", "label", "test_size", 0.2, "n_estimators", 100,
+                "random_state", 42L));
+        spec.put("inputs", Map.of("dataset", "store://datasets/project/iris#0:latest"));
+        spec.put("output_path", "v3io:///projects/project/artifacts");
+        spec.put("handler", "train");
+        spec.put("local", false);
+        return spec;
+    }
+}
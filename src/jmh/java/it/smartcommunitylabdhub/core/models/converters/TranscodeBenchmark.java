@@ -0,0 +1,71 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+
+/**
+ * Measures writing a function to a json response with the stored spec
+ * decoded into a map, as before, and streamed from the cbor blob. Run with
+ * -prof gc to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranscodeBenchmark {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    private AnnotationConfigApplicationContext context;
+
+    private byte[] spec;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = ConversionBenchmark.context();
+        spec = ConversionUtils.convert(StorageCodecBenchmark.functionSpec(), "cbor");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void decoded() throws Exception {
+        write(ConversionUtils.reverse(spec, "cbor"));
+    }
+
+    @Benchmark
+    public void streamed() throws Exception {
+        write(ConversionUtils.reverseLazy(spec, "blob"));
+    }
+
+    private static void write(Map<String, Object> value) throws Exception {
+        FunctionDTO dto = FunctionDTO.builder().id("function-id").name("function").kind("job")
+                .project("project").spec(value).build();
+        WRITER.writeValue(OutputStream.nullOutputStream(), dto);
+    }
+}
@@ -0,0 +1,220 @@
+package it.smartcommunitylabdhub.core.components.admission;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import it.smartcommunitylabdhub.core.exceptions.RunAdmissionRejected;
+
+/**
+ * Admission of runs to their runtime. Submitted runs wait in a bounded queue,
+ * highest priority first then in submission order, and are dispatched on a
+ * dedicated pool while less than maxInFlight runs are in flight overall and
+ * less than maxInFlightPerProject for their project. Runs submitted when the
+ * queue is full are rejected instead of running on the caller thread. A run
+ * submitted again with the key of a queued or in flight one is ignored.
+ */
+public class RunAdmission {
+
+    private final int maxInFlight;
+    private final int maxInFlightPerProject;
+    private final int queueSize;
+    private final long retryAfter;
+
+    private final TreeSet<Entry> queue;
+    private final Map<String, Integer> projectInFlight;
+    private final Set<String> keys;
+    private final ExecutorService executor;
+    private int inFlight;
+    private long sequence;
+
+    private Consumer<Duration> waitListener = wait -> {
+    };
+    private Runnable rejectListener = () -> {
+    };
+
+    /**
+     * @param maxInFlight           runs dispatched at the same time
+     * @param maxInFlightPerProject runs of a single project dispatched at the
+     *                              same time
+     * @param queueSize             runs waiting for admission
+     * @param retryAfter            seconds suggested to rejected clients
+     */
+    public RunAdmission(int maxInFlight, int maxInFlightPerProject, int queueSize, long retryAfter) {
+        this.maxInFlight = maxInFlight;
+        this.maxInFlightPerProject = maxInFlightPerProject;
+        this.queueSize = queueSize;
+        this.retryAfter = retryAfter;
+        this.queue = new TreeSet<>(Comparator.comparingInt((Entry e) -> -e.priority)
+                .thenComparingLong(e -> e.sequence));
+        this.projectInFlight = new HashMap<>();
+        this.keys = new HashSet<>();
+
+        // Never more than maxInFlight tasks are given to the pool, it does not queue
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "Run-Admission-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ((ThreadPoolExecutor) this.executor).allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Called with the time every run waited in the queue.
+     */
+    public void setWaitListener(Consumer<Duration> waitListener) {
+        this.waitListener = waitListener;
+    }
+
+    /**
+     * Called for every rejected run.
+     */
+    public void setRejectListener(Runnable rejectListener) {
+        this.rejectListener = rejectListener;
+    }
+
+    /**
+     * Queue a run for dispatch.
+     *
+     * @param project  project of the run, limits in flight runs
+     * @param priority higher runs first
+     * @param task     dispatch of the run
+     * @throws RunAdmissionRejected if the queue is full
+     */
+    public void submit(String project, int priority, Runnable task) {
+        submitAll(List.of(new Request(project, priority, task)));
+    }
+
+    /**
+     * Queue many runs, either all of them or none are admitted. Runs already
+     * queued or in flight with the same key are skipped.
+     *
+     * @throws RunAdmissionRejected if the queue has not room for all of them
+     */
+    public synchronized void submitAll(List<Request> submitted) {
+        List<Request> requests = submitted.stream()
+                .filter(request -> request.key() == null || !keys.contains(request.key()))
+                .toList();
+        if (queue.size() + requests.size() > queueSize) {
+            requests.forEach(request -> rejectListener.run());
+            throw new RunAdmissionRejected(
+                    "Run admission queue is full, " + queue.size() + " runs are waiting.", retryAfter);
+        }
+        long now = System.nanoTime();
+        requests.forEach(request -> {
+            if (request.key() != null) {
+                keys.add(request.key());
+            }
+            queue.add(new Entry(request.key(), request.project(), request.priority(), sequence++, now,
+                    request.task()));
+        });
+        dispatch();
+    }
+
+    /**
+     * Check that runs waiting outside of the queue, es: in the outbox, are not
+     * more than the queue and the in flight runs can take.
+     *
+     * @param waiting runs already waiting, queued and in flight ones included
+     * @param runs    runs about to be added
+     * @throws RunAdmissionRejected if they do not fit
+     */
+    public void checkCapacity(long waiting, int runs) {
+        if (waiting + runs > queueSize + maxInFlight) {
+            for (int i = 0; i < runs; i++) {
+                rejectListener.run();
+            }
+            throw new RunAdmissionRejected(
+                    "Run admission queue is full, " + waiting + " runs are waiting.", retryAfter);
+        }
+    }
+
+    /**
+     * Runs that can be queued right now.
+     */
+    public synchronized int getRoom() {
+        return Math.max(0, queueSize - queue.size());
+    }
+
+    private synchronized void dispatch() {
+        Iterator<Entry> iterator = queue.iterator();
+        while (inFlight < maxInFlight && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            int running = projectInFlight.getOrDefault(entry.project, 0);
+            if (running >= maxInFlightPerProject) {
+                // Project at its limit, lower priority runs of other projects can go
+                continue;
+            }
+            iterator.remove();
+            inFlight++;
+            projectInFlight.put(entry.project, running + 1);
+            waitListener.accept(Duration.ofNanos(System.nanoTime() - entry.enqueued));
+
+            executor.execute(() -> {
+                try {
+                    entry.task.run();
+                } catch (RuntimeException e) {
+                    System.out.println("Run dispatch failed for project " + entry.project + ": "
+                            + e.getMessage());
+                } finally {
+                    release(entry);
+                }
+            });
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        inFlight--;
+        projectInFlight.computeIfPresent(entry.project, (p, running) -> running > 1 ? running - 1 : null);
+        if (entry.key != null) {
+            keys.remove(entry.key);
+        }
+        dispatch();
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A run to admit.
+     *
+     * @param key      identifies the run across submissions, es: outbox event
+     *                 id, null if it is never submitted twice
+     * @param project  project of the run, limits in flight runs
+     * @param priority higher runs first
+     * @param task     dispatch of the run
+     */
+    public record Request(String key, String project, int priority, Runnable task) {
+
+        public Request(String project, int priority, Runnable task) {
+            this(null, project, priority, task);
+        }
+    }
+
+    private record Entry(String key, String project, int priority, long sequence, long enqueued,
+            Runnable task) {
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 import it.smartcommunitylabdhub.core.components.events.messages.RunMessage;
 import it.smartcommunitylabdhub.core.components.kinds.factory.workflows.KindWorkflowFactory;
 import it.smartcommunitylabdhub.core.components.pollers.PollingService;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
 import it.smartcommunitylabdhub.core.models.accessors.utils.TaskAccessor;
 import it.smartcommunitylabdhub.core.models.accessors.utils.TaskUtils;
@@ -24,6 +25,9 @@ public class RunEventListener {
     @Autowired
     KindWorkflowFactory kindWorkflowFactory;
 
+    @Autowired
+    PollingPolicy runPollingPolicy;
+
     @EventListener
     @Async
     public void handle(RunMessage message) {
@@ -38,11 +42,9 @@ public class RunEventListener {
                 .getWorkflow(taskAccessor.getKind())
                 .build(message.getRunDTO()));
 
-        // Create new run poller
+        // Create new run poller, or get the one already following this run, and
+        // start it
         pollingService.createPoller("run:" + message.getRunDTO().getId(),
-                workflows, 2, true);
-
-        // Start poller
-        pollingService.startOne("run:" + message.getRunDTO().getId());
+                workflows, runPollingPolicy, true).startPolling();
     }
 }
@@ -0,0 +1,82 @@
+package it.smartcommunitylabdhub.core.components.events.listeners;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
+import it.smartcommunitylabdhub.core.components.kinds.factory.workflows.KindWorkflowFactory;
+import it.smartcommunitylabdhub.core.components.pollers.PollingService;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
+import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
+import it.smartcommunitylabdhub.core.models.accessors.utils.TaskAccessor;
+import it.smartcommunitylabdhub.core.models.accessors.utils.TaskUtils;
+import it.smartcommunitylabdhub.core.models.builders.dtos.RunDTOBuilder;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.repositories.RunRepository;
+
+/**
+ * Pollers only live in memory: on startup recreate a poller for every run
+ * still in progress so that its state keeps being followed. Pollers are
+ * started spread over the recovery window to avoid hitting MLRun with all the
+ * runs at once.
+ */
+@Component
+public class RunRecoveryListener {
+
+    private static final List<RunState> ACTIVE_STATES = List.of(
+            RunState.CREATED, RunState.READY, RunState.RUNNING);
+
+    @Autowired
+    private PollingService pollingService;
+
+    @Autowired
+    KindWorkflowFactory kindWorkflowFactory;
+
+    @Autowired
+    PollingPolicy runPollingPolicy;
+
+    @Autowired
+    RunRepository runRepository;
+
+    @Autowired
+    RunDTOBuilder runDTOBuilder;
+
+    @Value("${poller.run.recovery-window}")
+    private long recoveryWindow;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+
+        // Only runs submitted to mlrun can be polled
+        List<RunDTO> runs = runRepository.findByStateIn(ACTIVE_STATES).stream()
+                .map(run -> runDTOBuilder.build(run))
+                .filter(runDTO -> runDTO.getExtra() != null && runDTO.getExtra().get("mlrun_run_uid") != null)
+                .toList();
+
+        System.out.println("Resume " + runs.size() + " run pollers");
+
+        for (int i = 0; i < runs.size(); i++) {
+            RunDTO runDTO = runs.get(i);
+            try {
+                TaskAccessor taskAccessor = TaskUtils.parseTask(runDTO.getTask());
+
+                // Workflow restores the run state machine from the stored state
+                Workflow workflow = (Workflow) kindWorkflowFactory
+                        .getWorkflow(taskAccessor.getKind())
+                        .build(runDTO);
+
+                // Stagger the first polls over the recovery window
+                pollingService.createPoller("run:" + runDTO.getId(), List.of(workflow), runPollingPolicy, true)
+                        .startPolling(recoveryWindow * i / runs.size());
+
+            } catch (Exception e) {
+                System.out.println("Cannot resume poller for run " + runDTO.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package it.smartcommunitylabdhub.core.components.kinds.factory.publishers;
 
+/**
+ * Publishes a single run of a kind. Runs submitted together are not published
+ * as a batch: the outbox dispatcher hands them to the run admission at once,
+ * which then publishes each run within its own in flight slot.
+ */
 @FunctionalInterface
 public interface KindPublisher<I, O> {
     O publish(I input);
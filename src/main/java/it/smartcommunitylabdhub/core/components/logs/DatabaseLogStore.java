@@ -0,0 +1,103 @@
+package it.smartcommunitylabdhub.core.components.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
+import it.smartcommunitylabdhub.core.models.entities.Log;
+import it.smartcommunitylabdhub.core.repositories.LogRepository;
+
+/**
+ * Log chunks stored as cbor in the body of their Log. Reads decode every chunk
+ * of the run up to the requested range.
+ */
+public class DatabaseLogStore implements LogStore {
+
+    private final LogRepository logRepository;
+
+    public DatabaseLogStore(LogRepository logRepository) {
+        this.logRepository = logRepository;
+    }
+
+    @Override
+    public void append(Log log, byte[] data, int length) {
+        log.setBody(ConversionUtils.convert(
+                Map.of("content", new String(data, 0, length, StandardCharsets.UTF_8)), "blob"));
+    }
+
+    @Override
+    public long read(String run, long from, long to, WritableByteChannel target) throws IOException {
+        long written = 0;
+        long position = 0;
+        for (Log log : logRepository.findByRunOrderByStartOffset(run)) {
+            // Logs stored before chunks had offsets follow each other
+            long start = log.getStartOffset() != null ? log.getStartOffset() : position;
+            if (start >= to) {
+                break;
+            }
+            byte[] content = content(log);
+            position = start + content.length;
+            if (position <= from) {
+                continue;
+            }
+            int offset = (int) Math.max(0, from - start);
+            int end = (int) Math.min(content.length, to - start);
+            written += write(ByteBuffer.wrap(content, offset, end - offset), target);
+        }
+        return written;
+    }
+
+    @Override
+    public long readLines(String run, long from, long count, WritableByteChannel target) throws IOException {
+        long written = 0;
+        long line = 0;
+        for (Log log : logRepository.findByRunOrderByStartOffset(run)) {
+            byte[] content = content(log);
+            int start = 0;
+            for (int i = 0; i < content.length && line < from + count; i++) {
+                if (content[i] != '\n') {
+                    continue;
+                }
+                if (line >= from) {
+                    written += write(ByteBuffer.wrap(content, start, i + 1 - start), target);
+                }
+                start = i + 1;
+                line++;
+            }
+            if (line >= from + count) {
+                break;
+            }
+            // Line continued in the next chunk
+            if (line >= from && start < content.length) {
+                written += write(ByteBuffer.wrap(content, start, content.length - start), target);
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void delete(String run) {
+        logRepository.deleteAll(logRepository.findByRun(run));
+    }
+
+    private static byte[] content(Log log) {
+        if (log.getBody() == null) {
+            // Content kept by another store
+            return new byte[0];
+        }
+        Map<String, Object> body = ConversionUtils.reverse(log.getBody(), "blob");
+        Object content = body == null ? null : body.get("content");
+        return content == null ? new byte[0] : content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long write(ByteBuffer buffer, WritableByteChannel target) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += target.write(buffer);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,362 @@
+package it.smartcommunitylabdhub.core.components.logs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import it.smartcommunitylabdhub.core.models.entities.Log;
+
+/**
+ * Run logs stored as append-only segment files on local disk, the Log of a
+ * chunk keeps only its metadata. Every run has a directory of segments named
+ * after the offset of their first byte, a new segment is started once the
+ * current one exceeds segmentSize, and a line index recording the offset of
+ * one line every indexInterval lines.
+ *
+ * Byte ranges are sent with FileChannel.transferTo, line ranges are located
+ * from the closest indexed line scanning the memory mapped segments. Only the
+ * runs being written are kept in memory, until they are closed, reads of
+ * other runs list their files and never create them.
+ *
+ * Logs stored before the file store, in the body of their Log, are read from
+ * the legacy store while the run has no files, and copied to the files when
+ * the run appends to them.
+ */
+public class FileLogStore implements LogStore {
+
+    private static final String INDEX = "lines.idx";
+    private static final String SEGMENT = ".log";
+
+    private final Path root;
+    private final long segmentSize;
+    private final long indexInterval;
+    private final LogStore legacy;
+    private final Map<String, RunLog> logs = new ConcurrentHashMap<>();
+
+    /**
+     * @param root          directory of the run logs
+     * @param segmentSize   bytes after which a new segment is started
+     * @param indexInterval lines between two entries of the line index
+     */
+    public FileLogStore(Path root, long segmentSize, long indexInterval) {
+        this(root, segmentSize, indexInterval, null);
+    }
+
+    /**
+     * @param legacy store of the logs written before the file store, null if
+     *               there are none
+     */
+    public FileLogStore(Path root, long segmentSize, long indexInterval, LogStore legacy) {
+        this.root = root;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        this.legacy = legacy;
+    }
+
+    @Override
+    public void append(Log log, byte[] data, int length) throws IOException {
+        while (true) {
+            RunLog runLog = open(log.getRun());
+            synchronized (runLog) {
+                // Closed meanwhile, open it again from its files
+                if (!runLog.closed) {
+                    append(runLog, log, data, length);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void append(RunLog runLog, Log log, byte[] data, int length) throws IOException {
+        long offset = log.getStartOffset();
+        if (runLog.size == 0 && offset > 0 && legacy != null) {
+            // Log started before the file store, its stored part goes first
+            ByteArrayOutputStream stored = new ByteArrayOutputStream();
+            legacy.read(log.getRun(), 0, offset, Channels.newChannel(stored));
+            if (stored.size() > 0) {
+                append(runLog, Log.builder().run(log.getRun()).startOffset(0L).build(), stored.toByteArray(),
+                        stored.size());
+            }
+        }
+        if (offset > runLog.size) {
+            throw new IOException("Log of run " + log.getRun() + " has " + runLog.size
+                    + " bytes, cannot append at " + offset);
+        }
+        // Chunk ingested again, es: after a restart, only the new part is written
+        int skip = (int) (runLog.size - offset);
+        if (skip >= length) {
+            return;
+        }
+
+        if (runLog.segments.isEmpty()
+                || runLog.size - runLog.segments.lastKey() >= segmentSize) {
+            runLog.segments.put(runLog.size, runLog.dir.resolve(segmentName(runLog.size)));
+        }
+        try (FileChannel channel = FileChannel.open(runLog.segments.lastEntry().getValue(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data, skip, length - skip);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        // Index the lines starting in the chunk
+        ByteBuffer index = ByteBuffer.allocate(16 * (int) ((length - skip) / indexInterval + 1));
+        for (int i = skip; i < length; i++) {
+            if (data[i] == '\n') {
+                runLog.lines++;
+                if (runLog.lines % indexInterval == 0) {
+                    index.putLong(runLog.lines).putLong(offset + i + 1);
+                }
+            }
+        }
+        runLog.size = offset + length;
+        if (index.position() > 0) {
+            index.flip();
+            try (FileChannel channel = FileChannel.open(runLog.dir.resolve(INDEX),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (index.hasRemaining()) {
+                    channel.write(index);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long read(String run, long from, long to, WritableByteChannel target) throws IOException {
+        RunLog runLog = view(run);
+        NavigableMap<Long, Path> segments;
+        long size;
+        synchronized (runLog) {
+            segments = new TreeMap<>(runLog.segments);
+            size = runLog.size;
+        }
+        if (segments.isEmpty() && legacy != null) {
+            return legacy.read(run, from, to, target);
+        }
+
+        long end = Math.min(to, size);
+        long written = 0;
+        Long start = segments.floorKey(from);
+        for (Map.Entry<Long, Path> segment : segments.tailMap(start == null ? 0 : start, true).entrySet()) {
+            long segmentStart = segment.getKey();
+            if (segmentStart >= end) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                long position = Math.max(0, from - segmentStart);
+                long count = Math.min(channel.size(), end - segmentStart) - position;
+                // Zero copy from the page cache to the target
+                while (count > 0) {
+                    long transferred = channel.transferTo(position, count, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    count -= transferred;
+                    written += transferred;
+                }
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public long readLines(String run, long from, long count, WritableByteChannel target) throws IOException {
+        RunLog runLog = view(run);
+        synchronized (runLog) {
+            if (runLog.segments.isEmpty() && legacy != null) {
+                return legacy.readLines(run, from, count, target);
+            }
+        }
+        long start = lineOffset(runLog, from);
+        long end = lineOffset(runLog, from + count);
+        return start < end ? read(run, start, end, target) : 0;
+    }
+
+    @Override
+    public void close(String run) {
+        RunLog runLog = logs.get(run);
+        if (runLog != null) {
+            synchronized (runLog) {
+                runLog.closed = true;
+                logs.remove(run, runLog);
+            }
+        }
+    }
+
+    @Override
+    public void delete(String run) throws IOException {
+        Path dir = dir(run);
+        close(run);
+        if (Files.exists(dir)) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Offset of the first byte of a line, the end of the log if the line is
+     * not there.
+     */
+    private long lineOffset(RunLog runLog, long line) throws IOException {
+        if (line == 0) {
+            return 0;
+        }
+        long[] entry = indexEntry(runLog, line);
+        return scan(runLog, entry[1], line - entry[0]);
+    }
+
+    // Last indexed line before the line, as line and offset
+    private long[] indexEntry(RunLog runLog, long line) throws IOException {
+        Path index = runLog.dir.resolve(INDEX);
+        if (!Files.exists(index)) {
+            return new long[] { 0, 0 };
+        }
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            // Entry n is line (n + 1) * indexInterval
+            long entries = channel.size() / 16;
+            long n = Math.min(entries, line / indexInterval) - 1;
+            if (n < 0) {
+                return new long[] { 0, 0 };
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            channel.read(buffer, n * 16);
+            buffer.flip();
+            return new long[] { buffer.getLong(), buffer.getLong() };
+        }
+    }
+
+    // Offset after skipping lines from an offset, scanning the mapped segments
+    private long scan(RunLog runLog, long offset, long lines) throws IOException {
+        NavigableMap<Long, Path> segments;
+        long size;
+        synchronized (runLog) {
+            segments = new TreeMap<>(runLog.segments);
+            size = runLog.size;
+        }
+        if (lines == 0) {
+            return Math.min(offset, size);
+        }
+
+        Long start = segments.floorKey(offset);
+        for (Map.Entry<Long, Path> segment : segments.tailMap(start == null ? 0 : start, true).entrySet()) {
+            try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                long segmentSize = Math.min(channel.size(), size - segment.getKey());
+                if (segmentSize <= 0) {
+                    break;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+                for (int i = (int) Math.max(0, offset - segment.getKey()); i < segmentSize; i++) {
+                    if (buffer.get(i) == '\n' && --lines == 0) {
+                        return segment.getKey() + i + 1;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    // Run log being written, kept until closed
+    private RunLog open(String run) throws IOException {
+        RunLog runLog = logs.get(run);
+        if (runLog != null) {
+            return runLog;
+        }
+        runLog = load(run, true);
+        RunLog previous = logs.putIfAbsent(run, runLog);
+        return previous != null ? previous : runLog;
+    }
+
+    // Run log to read, not kept if it is not being written
+    private RunLog view(String run) throws IOException {
+        RunLog runLog = logs.get(run);
+        return runLog != null ? runLog : load(run, false);
+    }
+
+    // Rebuild the state of a run log from its files, the files of a log opened
+    // for writing are created and its line index completed
+    private RunLog load(String run, boolean write) throws IOException {
+        RunLog runLog = new RunLog(dir(run));
+        if (write) {
+            Files.createDirectories(runLog.dir);
+        } else if (!Files.isDirectory(runLog.dir)) {
+            return runLog;
+        }
+        try (Stream<Path> files = Files.list(runLog.dir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SEGMENT))
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        runLog.segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT.length())),
+                                file);
+                    });
+        }
+        if (!runLog.segments.isEmpty()) {
+            runLog.size = runLog.segments.lastKey() + Files.size(runLog.segments.lastEntry().getValue());
+        }
+        if (write && !runLog.segments.isEmpty()) {
+            // Lines after the last indexed one are counted again, indexing the ones
+            // written before a crash
+            long[] entry = indexEntry(runLog, Long.MAX_VALUE);
+            runLog.lines = entry[0];
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            for (Map.Entry<Long, Path> segment : runLog.segments
+                    .tailMap(runLog.segments.floorKey(entry[1]), true).entrySet()) {
+                try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    for (int i = (int) Math.max(0, entry[1] - segment.getKey()); i < buffer.limit(); i++) {
+                        if (buffer.get(i) == '\n' && ++runLog.lines % indexInterval == 0) {
+                            index.writeBytes(ByteBuffer.allocate(16).putLong(runLog.lines)
+                                    .putLong(segment.getKey() + i + 1).array());
+                        }
+                    }
+                }
+            }
+            if (index.size() > 0) {
+                Files.write(runLog.dir.resolve(INDEX), index.toByteArray(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        }
+        return runLog;
+    }
+
+    private Path dir(String run) {
+        // Run ids are uuids, never leave the root
+        if (run == null || run.isEmpty() || run.contains("/") || run.contains("\\") || run.contains("..")) {
+            throw new IllegalArgumentException("Invalid run id " + run);
+        }
+        return root.resolve(run);
+    }
+
+    private static String segmentName(long offset) {
+        return String.format("%020d%s", offset, SEGMENT);
+    }
+
+    private static class RunLog {
+        private final Path dir;
+        private final NavigableMap<Long, Path> segments = new TreeMap<>();
+        private long size;
+        private long lines;
+        private boolean closed;
+
+        private RunLog(Path dir) {
+            this.dir = dir;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package it.smartcommunitylabdhub.core.components.logs;
+
+/**
+ * Runtime producing the logs of runs, es: mlrun.
+ */
+public interface LogSource {
+
+    /**
+     * Store the part of the log of a run written since the last refresh.
+     *
+     * @param run run id
+     * @return true while the run can still write its log
+     */
+    boolean refresh(String run);
+}
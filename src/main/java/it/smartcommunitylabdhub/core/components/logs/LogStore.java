@@ -0,0 +1,56 @@
+package it.smartcommunitylabdhub.core.components.logs;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+import it.smartcommunitylabdhub.core.models.entities.Log;
+
+/**
+ * Storage of the content of run logs. The log of a run is stored in chunks,
+ * every chunk is described by a Log holding its offsets in the run log, and
+ * is read back by byte or line range.
+ */
+public interface LogStore {
+
+    /**
+     * Store a chunk of the log of a run. Chunks are appended in order, the part
+     * of a chunk already stored is skipped.
+     *
+     * @param log    the chunk, with its run and start offset
+     * @param data   content of the chunk
+     * @param length bytes of data in the chunk
+     */
+    void append(Log log, byte[] data, int length) throws IOException;
+
+    /**
+     * Write a byte range of the log of a run.
+     *
+     * @param run  run id
+     * @param from first byte
+     * @param to   last byte excluded, the end of the log if beyond
+     * @return bytes written
+     */
+    long read(String run, long from, long to, WritableByteChannel target) throws IOException;
+
+    /**
+     * Write a line range of the log of a run.
+     *
+     * @param run   run id
+     * @param from  first line, from 0
+     * @param count lines to write, less if the log ends before
+     * @return bytes written
+     */
+    long readLines(String run, long from, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * The run cannot write its log anymore, what the store keeps in memory for
+     * it is released.
+     */
+    default void close(String run) {
+    }
+
+    /**
+     * Remove the log of a run.
+     */
+    void delete(String run) throws IOException;
+}
@@ -0,0 +1,402 @@
+package it.smartcommunitylabdhub.core.components.logs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import it.smartcommunitylabdhub.core.exceptions.CoreException;
+import it.smartcommunitylabdhub.core.repositories.LogRepository;
+import it.smartcommunitylabdhub.core.utils.LogUtils;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Live tail of run logs. Subscribers of a run first get its stored log from
+ * their offset, then every chunk appended to it. A single upstream reader per
+ * followed run refreshes the log from its source every interval, whatever the
+ * number of subscribers, and stops with the last subscriber or once the run
+ * cannot write its log anymore. Chunks are queued per subscriber and sent on
+ * the tail senders, so publishers never wait for a slow subscriber, and a
+ * stalled subscriber only holds its own sender, never refreshes or others.
+ */
+@Component
+public class LogTail {
+
+    // Stored log is sent in batches of at most this size
+    private static final int BATCH = 64 * 1024;
+
+    // Chunks waiting for a subscriber, slower subscribers are completed
+    private static final int QUEUE = 1024;
+
+    private final LogStore logStore;
+    private final LogRepository logRepository;
+    private final ObjectProvider<LogSource> logSource;
+    private final long interval;
+    private final long timeout;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService sender;
+    private final Map<String, Channel> channels = new HashMap<>();
+
+    public LogTail(LogStore logStore,
+            LogRepository logRepository,
+            ObjectProvider<LogSource> logSource,
+            @Value("${logs.follow.interval}") long interval,
+            @Value("${logs.follow.timeout}") long timeout,
+            @Value("${logs.follow.pool-size}") int poolSize) {
+        this.logStore = logStore;
+        this.logRepository = logRepository;
+        this.logSource = logSource;
+        this.interval = interval;
+        this.timeout = timeout;
+
+        // Refreshes wait on the log source, a run slow to answer does not hold
+        // back the others
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "Log-Tail-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Sends block on the client socket, a subscriber sends on one thread at
+        // a time so threads are bounded by the subscribers currently sending
+        AtomicInteger senderCount = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "Log-Send-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Receiver of the log of a run.
+     */
+    public interface Listener {
+
+        /**
+         * @param text chunk of the log
+         * @param end  offset of the log after the chunk
+         */
+        void onLog(String text, long end) throws IOException;
+
+        void onComplete();
+    }
+
+    /**
+     * Follow the log of a run as server sent events, every event holds a chunk
+     * of the log and has the offset after it as id, to resume from.
+     */
+    public SseEmitter follow(String run, long offset) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Listener listener = new Listener() {
+            @Override
+            public void onLog(String text, long end) throws IOException {
+                emitter.send(SseEmitter.event().id(String.valueOf(end)).name("log")
+                        .data(text, MediaType.TEXT_PLAIN));
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.complete();
+            }
+        };
+        emitter.onCompletion(() -> unsubscribe(run, listener));
+        emitter.onTimeout(() -> unsubscribe(run, listener));
+        emitter.onError(e -> unsubscribe(run, listener));
+
+        subscribe(run, offset, listener);
+        return emitter;
+    }
+
+    /**
+     * Send the stored log of a run from an offset to a listener, then every
+     * chunk appended until the run is over.
+     */
+    public void subscribe(String run, long offset, Listener listener) {
+        Subscriber subscriber = new Subscriber(listener, offset);
+
+        while (true) {
+            Channel channel = channel(run);
+
+            // Chunks are published under the same lock, none is lost or sent twice
+            synchronized (channel) {
+                if (channel.over || !channel.closed) {
+                    subscriber.stored = logRepository.findEndOffsetByRun(run);
+                    if (channel.over) {
+                        // Run over in the meantime, its whole log is stored
+                        subscriber.over = true;
+                    } else {
+                        channel.subscribers.add(subscriber);
+                    }
+                    break;
+                }
+                // Left by its last subscriber in the meantime, follow on a new channel
+            }
+        }
+        schedule(run, subscriber);
+    }
+
+    /**
+     * Send a chunk appended to the log of a run to its subscribers. Chunks are
+     * queued, the caller never waits for a subscriber.
+     */
+    public void publish(String run, long offset, byte[] data, int length) {
+        Channel channel;
+        synchronized (channels) {
+            channel = channels.get(run);
+        }
+        if (channel == null) {
+            return;
+        }
+
+        Chunk chunk = new Chunk(offset, Arrays.copyOf(data, length));
+        List<Subscriber> queued = new ArrayList<>();
+        synchronized (channel) {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (chunk.end() <= subscriber.stored) {
+                    // Sent with the stored log
+                    continue;
+                }
+                if (subscriber.offer(chunk)) {
+                    queued.add(subscriber);
+                }
+            }
+        }
+        queued.forEach(subscriber -> schedule(run, subscriber));
+    }
+
+    // Send what is queued for a subscriber on the tail senders, one send at a
+    // time per subscriber
+    private void schedule(String run, Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.sending || subscriber.done) {
+                return;
+            }
+            subscriber.sending = true;
+        }
+        sender.execute(() -> send(run, subscriber));
+    }
+
+    private void send(String run, Subscriber subscriber) {
+        try {
+            // Stored log first, published chunks follow it
+            sendStored(run, subscriber);
+
+            while (true) {
+                Chunk chunk;
+                synchronized (subscriber) {
+                    chunk = subscriber.chunks.poll();
+                    if (chunk == null) {
+                        subscriber.sending = false;
+                        if (!subscriber.over || subscriber.done) {
+                            return;
+                        }
+                        subscriber.done = true;
+                        break;
+                    }
+                }
+                if (chunk.end() <= subscriber.position) {
+                    continue;
+                }
+                int skip = (int) Math.max(0, subscriber.position - chunk.offset);
+                subscriber.listener.onLog(
+                        new String(chunk.data, skip, chunk.data.length - skip, StandardCharsets.UTF_8),
+                        chunk.end());
+                subscriber.position = chunk.end();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Gone, stop following
+        }
+        remove(run, subscriber);
+        subscriber.listener.onComplete();
+    }
+
+    private void sendStored(String run, Subscriber subscriber) throws IOException {
+        while (subscriber.position < subscriber.stored) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            logStore.read(run, subscriber.position, Math.min(subscriber.stored, subscriber.position + BATCH),
+                    Channels.newChannel(out));
+            byte[] bytes = out.toByteArray();
+            if (bytes.length == 0) {
+                break;
+            }
+            int length = LogUtils.lineBoundary(bytes, bytes.length);
+            subscriber.position += length;
+            subscriber.listener.onLog(new String(bytes, 0, length, StandardCharsets.UTF_8), subscriber.position);
+        }
+    }
+
+    private Channel channel(String run) {
+        synchronized (channels) {
+            return channels.computeIfAbsent(run, r -> {
+                Channel channel = new Channel();
+                channel.reader = scheduler.scheduleWithFixedDelay(() -> refresh(r), 0, interval,
+                        TimeUnit.MILLISECONDS);
+                return channel;
+            });
+        }
+    }
+
+    // Upstream reader of a run, appended chunks are published by the log service
+    private void refresh(String run) {
+        LogSource source = logSource.getIfAvailable();
+        boolean running;
+        try {
+            running = source != null && source.refresh(run);
+        } catch (CoreException e) {
+            if (e.getStatus() != HttpStatus.NOT_FOUND) {
+                System.out.println("Cannot refresh log of run " + run + ": " + e.getMessage());
+                return;
+            }
+            // Unknown or deleted run, nothing will be appended
+            running = false;
+        } catch (RuntimeException e) {
+            // Source not reachable, try again at next refresh
+            System.out.println("Cannot refresh log of run " + run + ": " + e.getMessage());
+            return;
+        }
+        if (!running) {
+            complete(run);
+        }
+    }
+
+    /**
+     * Close the tail of a run, its subscribers are completed.
+     */
+    public void complete(String run) {
+        Channel channel;
+        synchronized (channels) {
+            channel = channels.remove(run);
+        }
+        if (channel == null) {
+            return;
+        }
+        channel.reader.cancel(false);
+        List<Subscriber> subscribers;
+        synchronized (channel) {
+            channel.closed = true;
+            channel.over = true;
+            subscribers = new ArrayList<>(channel.subscribers);
+            channel.subscribers.clear();
+        }
+        // Completed once their queue is sent
+        subscribers.forEach(subscriber -> {
+            synchronized (subscriber) {
+                subscriber.over = true;
+            }
+            schedule(run, subscriber);
+        });
+    }
+
+    private void unsubscribe(String run, Listener listener) {
+        remove(run, subscriber -> subscriber.listener == listener);
+    }
+
+    private void remove(String run, Subscriber gone) {
+        remove(run, subscriber -> subscriber == gone);
+        synchronized (gone) {
+            gone.done = true;
+            gone.chunks.clear();
+        }
+    }
+
+    private void remove(String run, Predicate<Subscriber> gone) {
+        synchronized (channels) {
+            Channel channel = channels.get(run);
+            if (channel == null) {
+                return;
+            }
+            synchronized (channel) {
+                channel.subscribers.stream().filter(gone).forEach(subscriber -> {
+                    synchronized (subscriber) {
+                        subscriber.done = true;
+                        subscriber.chunks.clear();
+                    }
+                });
+                if (channel.subscribers.removeIf(gone) && channel.subscribers.isEmpty()) {
+                    // No one is following, stop reading upstream
+                    channel.closed = true;
+                    channels.remove(run);
+                    channel.reader.cancel(false);
+                }
+            }
+        }
+    }
+
+    public int getFollowedRuns() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private static class Channel {
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private ScheduledFuture<?> reader;
+        private boolean closed;
+        private boolean over;
+    }
+
+    private static class Subscriber {
+        private final Listener listener;
+        // Sent up to, written by the sending thread only
+        private long position;
+        // End of the stored log when subscribing, later chunks are queued
+        private long stored;
+        private final Deque<Chunk> chunks = new ArrayDeque<>();
+        private boolean sending;
+        private boolean over;
+        private boolean done;
+
+        private Subscriber(Listener listener, long position) {
+            this.listener = listener;
+            this.position = position;
+        }
+
+        private synchronized boolean offer(Chunk chunk) {
+            if (done || over) {
+                return false;
+            }
+            if (chunks.size() >= QUEUE) {
+                // Too slow, completed once its queue is sent and resumes from there
+                over = true;
+                return true;
+            }
+            chunks.add(chunk);
+            return true;
+        }
+    }
+
+    private record Chunk(long offset, byte[] data) {
+        private long end() {
+            return offset + data.length;
+        }
+    }
+}
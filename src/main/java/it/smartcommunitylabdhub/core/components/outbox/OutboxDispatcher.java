@@ -0,0 +1,293 @@
+package it.smartcommunitylabdhub.core.components.outbox;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
+import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
+import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisher;
+import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisherFactory;
+import it.smartcommunitylabdhub.core.exceptions.RunAdmissionRejected;
+import it.smartcommunitylabdhub.core.models.builders.dtos.RunDTOBuilder;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.models.entities.OutboxEvent;
+import it.smartcommunitylabdhub.core.models.entities.Run;
+import it.smartcommunitylabdhub.core.models.enums.OutboxStatus;
+import it.smartcommunitylabdhub.core.repositories.OutboxEventRepository;
+import it.smartcommunitylabdhub.core.repositories.RunRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deliver the run submissions stored in the outbox. Every dispatcher thread
+ * claims a batch of pending events for a lease and hands them to the run
+ * admission, an event is completed only once its run has been published.
+ * Leases of the events waiting for admission or in flight are renewed until
+ * they are delivered, an event whose claim was lost meanwhile is left to its
+ * new owner. Delivery is at least once: events of a dead node, or whose
+ * publish failed, are claimed again later, runs already submitted are not
+ * published twice.
+ */
+@Component
+public class OutboxDispatcher {
+
+    public static final String RUN_SUBMIT = "run.submit";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RunRepository runRepository;
+    private final RunDTOBuilder runDTOBuilder;
+    private final KindPublisherFactory runPublisherFactory;
+    private final RunAdmission runAdmission;
+
+    @Value("${outbox.dispatcher.threads}")
+    private int threads;
+
+    @Value("${outbox.dispatcher.batch-size}")
+    private int batchSize;
+
+    @Value("${outbox.dispatcher.interval}")
+    private long interval;
+
+    @Value("${outbox.dispatcher.lease}")
+    private long lease;
+
+    @Value("${outbox.dispatcher.backoff}")
+    private long backoff;
+
+    @Value("${outbox.dispatcher.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention}")
+    private long retention;
+
+    // Claim tokens of the events queued for admission or in flight, by event id
+    private final Map<String, String> claims = new ConcurrentHashMap<>();
+    private final AtomicLong lastRenewal = new AtomicLong();
+
+    private final Object signal = new Object();
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+            RunRepository runRepository,
+            RunDTOBuilder runDTOBuilder,
+            KindPublisherFactory runPublisherFactory,
+            RunAdmission runAdmission) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.runRepository = runRepository;
+        this.runDTOBuilder = runDTOBuilder;
+        this.runPublisherFactory = runPublisherFactory;
+        this.runAdmission = runAdmission;
+    }
+
+    /**
+     * Event of the submission of a run, stored with the run.
+     */
+    public static OutboxEvent runSubmit(RunDTO runDTO, String kind, int priority) {
+        return OutboxEvent.builder()
+                .type(RUN_SUBMIT)
+                .idempotencyKey(RUN_SUBMIT + ":" + runDTO.getId())
+                .kind(kind)
+                .runId(runDTO.getId())
+                .project(runDTO.getProject())
+                .priority(priority)
+                .build();
+    }
+
+    // Start once the application is ready, events left by a previous instance
+    // are delivered as soon as their lease expires
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        running = true;
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "Outbox-Dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.execute(this::loop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wake up the dispatchers, es: once new events are committed.
+     */
+    public void wakeUp() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    private void loop() {
+        long lastCleanup = 0;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (System.currentTimeMillis() - lastCleanup > retention) {
+                    lastCleanup = System.currentTimeMillis();
+                    outboxEventRepository.deleteCompleted(OutboxStatus.DONE, new Date(lastCleanup - retention));
+                }
+                renewClaims();
+                if (drain() < batchSize) {
+                    synchronized (signal) {
+                        signal.wait(interval);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.out.println("Outbox dispatch failed: " + e.getMessage());
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim a batch of pending events and queue them for admission.
+     *
+     * @return number of events claimed
+     */
+    public int drain() {
+        // Never claim more than the admission can queue
+        int size = Math.min(batchSize, runAdmission.getRoom());
+        if (size == 0) {
+            return 0;
+        }
+
+        Date now = new Date();
+        List<String> ids = outboxEventRepository.findClaimable(OutboxStatus.PENDING, now,
+                PageRequest.of(0, size))
+                .stream()
+                // Lease not renewed in time, still queued here
+                .filter(id -> !claims.containsKey(id))
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Other dispatchers may claim some of the same events, each gets its own
+        String token = UUID.randomUUID().toString();
+        if (outboxEventRepository.claim(ids, OutboxStatus.PENDING, token, now,
+                new Date(now.getTime() + lease)) == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findByClaimToken(token);
+        events.forEach(event -> claims.put(event.getId(), token));
+
+        // The drained batch is admitted all or nothing, every run is then
+        // published on its own so that it is counted against the limits
+        try {
+            runAdmission.submitAll(events.stream()
+                    .map(event -> new RunAdmission.Request(event.getId(), event.getProject(),
+                            event.getPriority(), () -> deliver(event, token)))
+                    .toList());
+        } catch (RunAdmissionRejected e) {
+            // Not an attempt, retry once the queue had time to drain
+            Date retry = new Date(System.currentTimeMillis() + e.getRetryAfter() * 1000);
+            events.forEach(event -> {
+                claims.remove(event.getId(), token);
+                outboxEventRepository.release(event.getId(), token, 0, retry);
+            });
+        }
+        return events.size();
+    }
+
+    /**
+     * Extend the leases of the events queued for admission or in flight, every
+     * third of a lease.
+     */
+    public void renewClaims() {
+        long now = System.currentTimeMillis();
+        long last = lastRenewal.get();
+        if (now - last < lease / 3 || !lastRenewal.compareAndSet(last, now)) {
+            return;
+        }
+
+        Date until = new Date(now + lease);
+        claims.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((token, ids) -> outboxEventRepository.renew(ids, token, until));
+    }
+
+    private void deliver(OutboxEvent event, String token) {
+        try {
+            // Claim lost while waiting, es: lease not renewed in time, its new
+            // owner delivers it
+            if (outboxEventRepository.renew(List.of(event.getId()), token,
+                    new Date(System.currentTimeMillis() + lease)) == 0) {
+                System.out.println("Outbox event " + event.getIdempotencyKey() + " claimed by another dispatcher");
+                return;
+            }
+
+            Optional<Run> run = runRepository.findById(event.getRunId());
+            if (run.isPresent() && !isSubmitted(run.get())) {
+                KindPublisher<RunDTO, Object> publisher = runPublisherFactory.getPublisher(event.getKind());
+                publisher.publish(runDTOBuilder.build(run.get()));
+            }
+            outboxEventRepository.complete(event.getId(), token, OutboxStatus.DONE, new Date());
+        } catch (RuntimeException e) {
+            fail(event, token, e);
+        } finally {
+            claims.remove(event.getId(), token);
+        }
+    }
+
+    private void fail(OutboxEvent event, String token, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        System.out.println("Outbox event " + event.getIdempotencyKey() + " failed, attempt " + attempts + ": "
+                + e.getMessage());
+
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.complete(event.getId(), token, OutboxStatus.FAILED, new Date());
+            runRepository.findById(event.getRunId())
+                    .filter(run -> !isSubmitted(run))
+                    .ifPresent(run -> {
+                        run.setState(RunState.ERROR);
+                        runRepository.save(run);
+                    });
+            return;
+        }
+
+        // Exponential backoff between attempts
+        long delay = backoff << Math.min(attempts - 1, 16);
+        outboxEventRepository.release(event.getId(), token, 1,
+                new Date(System.currentTimeMillis() + delay));
+    }
+
+    // Idempotency: a run that already left the CREATED state, or that got an id
+    // from its runtime, was delivered before
+    private boolean isSubmitted(Run run) {
+        if (run.getState() != null && run.getState() != RunState.CREATED) {
+            return true;
+        }
+        RunDTO runDTO = runDTOBuilder.build(run);
+        return runDTO.getExtra() != null && runDTO.getExtra().get("mlrun_run_uid") != null;
+    }
+}
@@ -1,51 +1,123 @@
 package it.smartcommunitylabdhub.core.components.pollers;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+import it.smartcommunitylabdhub.core.components.pollers.enums.PollerState;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
 import it.smartcommunitylabdhub.core.exceptions.StopPoller;
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
 
 public class Poller implements Runnable {
     private final List<Workflow> workflowList;
-    private transient ScheduledExecutorService executorService;
-    private final long delay;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final Duration workflowTimeout;
+    private final Consumer<Poller> onTimeout;
+    private final PollingPolicy pollingPolicy;
     private final boolean reschedule;
     private final String name;
-    private boolean active;
+    private final Consumer<Poller> onStopped;
+    private final AtomicReference<PollerState> state;
+    private volatile boolean polling;
+    private volatile ScheduledFuture<?> scheduledPoll;
+    private volatile Future<?> runningWorkflow;
+    private final AtomicLong timeouts;
+    private int idlePolls;
 
-    public Poller(String name, List<Workflow> workflowList, long delay, boolean reschedule) {
+    /**
+     * @param scheduler       schedules the polls
+     * @param executor        runs the workflows, so that a slow workflow does not
+     *                        hold a scheduler thread
+     * @param workflowTimeout timeout of workflows not defining their own
+     * @param onTimeout       notified every time a workflow times out
+     * @param onStopped       notified once the poller is STOPPED
+     */
+    public Poller(String name, List<Workflow> workflowList, PollingPolicy pollingPolicy, boolean reschedule,
+            ScheduledExecutorService scheduler, ExecutorService executor, Duration workflowTimeout,
+            Consumer<Poller> onTimeout, Consumer<Poller> onStopped) {
         this.name = name;
         this.workflowList = workflowList;
-        this.delay = delay;
+        this.pollingPolicy = pollingPolicy;
         this.reschedule = reschedule;
-        this.active = true;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.workflowTimeout = workflowTimeout;
+        this.onTimeout = onTimeout;
+        this.onStopped = onStopped;
+        this.state = new AtomicReference<>(PollerState.CREATED);
+        this.timeouts = new AtomicLong();
     }
 
-    ScheduledExecutorService getScheduledExecutor() {
-        if (this.executorService == null) {
-            this.executorService = Executors.newSingleThreadScheduledExecutor();
-        }
-        return this.executorService;
+    public String getName() {
+        return name;
+    }
+
+    public PollerState getState() {
+        return state.get();
+    }
+
+    /**
+     * Number of polls whose workflows timed out.
+     *
+     * @return timeouts count
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public boolean isActive() {
+        PollerState current = state.get();
+        return current == PollerState.CREATED || current == PollerState.RUNNING;
     }
 
     public void startPolling() {
-        System.out.println("Poller [" + name + "] start: " + Thread.currentThread().getName());
-        getScheduledExecutor().schedule(this, delay, TimeUnit.SECONDS);
+        startPolling(pollingPolicy.initialDelay());
+    }
+
+    /**
+     * Start polling after the given delay instead of the policy initial delay.
+     * A poller is started only once, further calls are ignored.
+     *
+     * @param initialDelay milliseconds before the first poll
+     */
+    public void startPolling(long initialDelay) {
+        if (state.compareAndSet(PollerState.CREATED, PollerState.RUNNING)) {
+            System.out.println("Poller [" + name + "] start: " + Thread.currentThread().getName());
+            schedule(initialDelay);
+        }
+    }
+
+    private void schedule(long delay) {
+        if (state.get() == PollerState.RUNNING) {
+            scheduledPoll = scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void run() {
+        polling = true;
         CompletableFuture<Object> allWorkflowsFuture = CompletableFuture.completedFuture(null);
 
         // Execute the workflows sequentially
         for (Workflow workflow : workflowList) {
-            if (active) {
-                allWorkflowsFuture = allWorkflowsFuture.thenComposeAsync(result -> executeWorkflowAsync(workflow));
+            if (isActive()) {
+                allWorkflowsFuture = allWorkflowsFuture.thenCompose(result -> executeWorkflowAsync(workflow));
             } else {
                 break;
             }
@@ -55,8 +127,20 @@ public class Poller implements Runnable {
             if (exception != null) {
                 if (exception instanceof CompletionException) {
                     Throwable cause = exception.getCause();
-                    if (cause instanceof StopPoller) {
-                        stopPolling(); // Stop this Poller thread.
+                    if (cause instanceof TimeoutException || cause instanceof WorkflowTimeout) {
+                        // Only this poll is lost, try again at next one
+                        System.out.println("Poller [" + name + "] workflow timeout: " + cause.getMessage());
+                        timeouts.incrementAndGet();
+                        if (onTimeout != null) {
+                            onTimeout.accept(this);
+                        }
+                    } else if (cause instanceof SkipPoll) {
+                        // Transient failure, the policy backs off as for an idle poll
+                        System.out.println("Poller [" + name + "] poll skipped: " + cause.getMessage());
+                    } else if (cause instanceof RejectedExecutionException) {
+                        System.out.println("Poller [" + name + "] workflow rejected, executor is full");
+                    } else if (cause instanceof StopPoller) {
+                        stopPolling(); // Stop this Poller.
                     } else {
                         System.out.println("POLLER EXCEPTION : " + exception.getMessage());
                         stopPolling();
@@ -66,13 +150,25 @@ public class Poller implements Runnable {
                     stopPolling();
                 }
             }
+            polling = false;
 
-            if (reschedule && active) {
-                System.out.println("Poller [" + name + "] reschedule: " + Thread.currentThread().getName());
+            if (reschedule && isActive()) {
+                // A poll without result made no progress: let the policy back off
+                idlePolls = result != null ? 0 : idlePolls + 1;
+                long delay = pollingPolicy.nextDelay(idlePolls);
+
+                System.out.println("Poller [" + name + "] reschedule in " + delay + "ms: "
+                        + Thread.currentThread().getName());
                 System.out.println("-------------------------------------------------------------------");
 
-                // Delay the rescheduling to ensure all workflows have completed
-                getScheduledExecutor().schedule(() -> startPolling(), delay, TimeUnit.SECONDS);
+                // Reschedule only once all workflows have completed
+                schedule(delay);
+            } else if (isActive()) {
+                // One shot poller is done
+                stopPolling();
+            } else {
+                // Stop was requested while polling, the poll is over now
+                stopped();
             }
         });
     }
@@ -80,33 +176,69 @@ public class Poller implements Runnable {
     private CompletableFuture<Object> executeWorkflowAsync(Workflow workflow) {
         CompletableFuture<Object> workflowExecution = new CompletableFuture<>();
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                Object result = workflow.execute(null);
-                // System.out.println(result.toString());
-                workflowExecution.complete(result);
-            } catch (Exception e) {
-                workflowExecution.completeExceptionally(e);
-            }
-        });
+        try {
+            runningWorkflow = executor.submit(() -> {
+                try {
+                    Object result = workflow.execute(null);
+                    // System.out.println(result.toString());
+                    workflowExecution.complete(result);
+                } catch (Exception e) {
+                    workflowExecution.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            workflowExecution.completeExceptionally(e);
+            return workflowExecution;
+        }
+
+        // Past the deadline interrupt the workflow, its steps stop at the next check
+        long timeout = Optional.ofNullable(workflow.getTimeout()).orElse(workflowTimeout).toMillis();
+        return workflowExecution.orTimeout(timeout, TimeUnit.MILLISECONDS)
+                .whenComplete((result, exception) -> {
+                    if (exception instanceof TimeoutException) {
+                        cancelRunningWorkflow();
+                    }
+                });
+    }
 
-        return workflowExecution;
+    private void cancelRunningWorkflow() {
+        Future<?> workflow = runningWorkflow;
+        if (workflow != null) {
+            workflow.cancel(true);
+        }
     }
 
+    /**
+     * Stop polling without blocking: the pending poll, if any, is cancelled and
+     * a poll already running will not reschedule itself. The poller stays
+     * STOPPING until that poll completes, then goes STOPPED. Stopping an already
+     * stopped poller does nothing.
+     */
     public void stopPolling() {
-        active = false; // Set the flag to false to stop polling
+        PollerState previous = state.getAndUpdate(
+                current -> current == PollerState.CREATED || current == PollerState.RUNNING
+                        ? PollerState.STOPPING
+                        : current);
+        if (previous == PollerState.STOPPING || previous == PollerState.STOPPED) {
+            return;
+        }
+
         System.out.println("Poller [" + name + "] stop: " + Thread.currentThread().getName());
-        getScheduledExecutor().shutdown();
-        try {
-            if (!getScheduledExecutor().awaitTermination(5, TimeUnit.SECONDS)) {
-                getScheduledExecutor().shutdownNow();
-                if (!getScheduledExecutor().awaitTermination(5, TimeUnit.SECONDS)) {
-                    System.err.println("Unable to shutdown executor service :(");
-                }
-            }
-        } catch (InterruptedException e) {
-            getScheduledExecutor().shutdownNow();
-            Thread.currentThread().interrupt();
+        ScheduledFuture<?> poll = scheduledPoll;
+        if (poll != null) {
+            poll.cancel(false);
+        }
+        if (polling) {
+            // Ask the running workflow to stop as well
+            cancelRunningWorkflow();
+        } else {
+            stopped();
+        }
+    }
+
+    private void stopped() {
+        if (state.compareAndSet(PollerState.STOPPING, PollerState.STOPPED) && onStopped != null) {
+            onStopped.accept(this);
         }
     }
 }
@@ -1,42 +1,178 @@
 package it.smartcommunitylabdhub.core.components.pollers;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import it.smartcommunitylabdhub.core.components.pollers.enums.PollerState;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
 
+/**
+ * Keep track of all pollers and schedule them on a single shared scheduler.
+ * Pollers do not own threads, every poll is a task in the scheduler queue so
+ * thousands of pollers only cost a few threads.
+ *
+ * The registry is safe to use from any thread: pollers are created atomically
+ * by name and remove themselves once STOPPED.
+ *
+ * Workflows run on a separate bounded executor with a deadline, a hung
+ * workflow is interrupted and only costs its poller one poll.
+ */
 public class PollingService {
     private final Map<String, Poller> pollerMap;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ThreadPoolExecutor workflowExecutor;
+    private final Duration workflowTimeout;
+    private Consumer<Poller> timeoutListener;
+
+    public PollingService(int schedulerPoolSize) {
+        this(schedulerPoolSize, schedulerPoolSize * 4, 1000, Duration.ofMinutes(1));
+    }
+
+    /**
+     * @param schedulerPoolSize threads scheduling the polls
+     * @param workerPoolSize    threads running the workflows
+     * @param workerQueueSize   workflows waiting for a worker, a poll is skipped
+     *                          when the queue is full
+     * @param workflowTimeout   timeout of workflows not defining their own
+     */
+    public PollingService(int schedulerPoolSize, int workerPoolSize, int workerQueueSize,
+            Duration workflowTimeout) {
+        this.pollerMap = new ConcurrentHashMap<>();
+        this.scheduler = new ScheduledThreadPoolExecutor(schedulerPoolSize,
+                new CustomizableThreadFactory("Poller-"));
+
+        // Cancelled polls are removed from the queue instead of waiting their delay
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.workflowExecutor = new ThreadPoolExecutor(workerPoolSize, workerPoolSize,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(workerQueueSize),
+                new CustomizableThreadFactory("Poller-Worker-"));
+        this.workflowTimeout = workflowTimeout;
+    }
 
-    public PollingService() {
-        this.pollerMap = new HashMap<>();
+    /**
+     * Set a listener notified every time a poller workflow times out.
+     */
+    public void setTimeoutListener(Consumer<Poller> timeoutListener) {
+        this.timeoutListener = timeoutListener;
     }
 
-    public void createPoller(String name, List<Workflow> workflowList, long delay, boolean reschedule) {
-        Poller poller = new Poller(name, workflowList, delay, reschedule);
-        pollerMap.put(name, poller);
+    /**
+     * Create a poller polling every delay seconds.
+     */
+    public Poller createPoller(String name, List<Workflow> workflowList, long delay, boolean reschedule) {
+        return createPoller(name, workflowList, PollingPolicy.fixed(delay, TimeUnit.SECONDS), reschedule);
+    }
+
+    /**
+     * Create a poller whose interval is decided by the given policy. If an
+     * active poller with the same name exists it is returned instead, a stopping
+     * or stopped one is replaced.
+     */
+    public Poller createPoller(String name, List<Workflow> workflowList, PollingPolicy pollingPolicy,
+            boolean reschedule) {
+        return pollerMap.compute(name, (key, existing) -> existing != null && existing.isActive()
+                ? existing
+                : new Poller(name, workflowList, pollingPolicy, reschedule, scheduler, workflowExecutor,
+                        workflowTimeout, this::timedOut, this::removeStopped));
     }
 
     public void startPolling() {
-        pollerMap.entrySet().stream().forEach(e -> e.getValue().startPolling());
+        pollerMap.values().forEach(Poller::startPolling);
     }
 
     public void stopPolling() {
-        pollerMap.entrySet().stream().forEach(e -> e.getValue().stopPolling());
-        pollerMap.clear();
+        pollerMap.values().forEach(Poller::stopPolling);
     }
 
     public void startOne(String name) {
-        pollerMap.get(name).startPolling();
+        Optional.ofNullable(pollerMap.get(name)).ifPresent(Poller::startPolling);
     }
 
+    /**
+     * Start a poller after the given delay in milliseconds.
+     */
+    public void startOne(String name, long initialDelay) {
+        Optional.ofNullable(pollerMap.get(name)).ifPresent(poller -> poller.startPolling(initialDelay));
+    }
+
+    /**
+     * Stop a poller, does nothing if it is unknown or already stopped.
+     */
     public void stopOne(String name) {
-        pollerMap.get(name).stopPolling();
-        pollerMap.remove(name);
+        Optional.ofNullable(pollerMap.get(name)).ifPresent(Poller::stopPolling);
     }
 
     public void remove(String name) {
-        pollerMap.remove(name);
+        Optional.ofNullable(pollerMap.remove(name)).ifPresent(Poller::stopPolling);
+    }
+
+    /**
+     * Lifecycle state of a registered poller.
+     *
+     * @param name poller name
+     * @return state, empty once the poller is stopped and removed
+     */
+    public Optional<PollerState> getState(String name) {
+        return Optional.ofNullable(pollerMap.get(name)).map(Poller::getState);
+    }
+
+    /**
+     * Number of registered pollers.
+     *
+     * @return pollers count
+     */
+    public int size() {
+        return pollerMap.size();
+    }
+
+    private void timedOut(Poller poller) {
+        if (timeoutListener != null) {
+            timeoutListener.accept(poller);
+        }
+    }
+
+    private void removeStopped(Poller poller) {
+        // Only remove this instance, the name may already belong to a new poller
+        pollerMap.remove(poller.getName(), poller);
+    }
+
+    /**
+     * Number of polls waiting in the scheduler queue.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return scheduler.getQueue().size();
+    }
+
+    /**
+     * Number of workflows waiting for a worker.
+     *
+     * @return queue depth
+     */
+    public int getWorkflowQueueDepth() {
+        return workflowExecutor.getQueue().size();
+    }
+
+    /**
+     * Stop all pollers and release the scheduler threads.
+     */
+    public void shutdown() {
+        stopPolling();
+        pollerMap.clear();
+        scheduler.shutdownNow();
+        workflowExecutor.shutdownNow();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package it.smartcommunitylabdhub.core.components.pollers.enums;
+
+public enum PollerState {
+    CREATED,
+    RUNNING,
+    STOPPING,
+    STOPPED
+}
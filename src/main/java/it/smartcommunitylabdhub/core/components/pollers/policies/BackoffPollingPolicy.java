@@ -0,0 +1,47 @@
+package it.smartcommunitylabdhub.core.components.pollers.policies;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Poll fast while something changes and back off exponentially, up to a
+ * ceiling, while nothing does. Every delay is randomised by the jitter factor
+ * so that pollers created together do not poll in lockstep.
+ */
+public class BackoffPollingPolicy implements PollingPolicy {
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+
+    /**
+     * @param initialDelay delay in milliseconds after start and after progress
+     * @param maxDelay     ceiling in milliseconds
+     * @param multiplier   growth factor for every idle poll
+     * @param jitter       random variation, 0.2 means +/- 20%
+     */
+    public BackoffPollingPolicy(long initialDelay, long maxDelay, double multiplier, double jitter) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = Math.max(initialDelay, maxDelay);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.jitter = Math.min(Math.max(jitter, 0.0), 1.0);
+    }
+
+    @Override
+    public long initialDelay() {
+        return withJitter(initialDelay);
+    }
+
+    @Override
+    public long nextDelay(int idlePolls) {
+        double delay = initialDelay * Math.pow(multiplier, idlePolls);
+        return withJitter((long) Math.min(delay, maxDelay));
+    }
+
+    private long withJitter(long delay) {
+        if (jitter == 0.0) {
+            return delay;
+        }
+        double variation = ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.min(maxDelay, Math.max(0, Math.round(delay * (1.0 + variation))));
+    }
+}
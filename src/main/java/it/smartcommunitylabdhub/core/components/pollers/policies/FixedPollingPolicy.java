@@ -0,0 +1,19 @@
+package it.smartcommunitylabdhub.core.components.pollers.policies;
+
+public class FixedPollingPolicy implements PollingPolicy {
+    private final long delay;
+
+    public FixedPollingPolicy(long delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public long initialDelay() {
+        return delay;
+    }
+
+    @Override
+    public long nextDelay(int idlePolls) {
+        return delay;
+    }
+}
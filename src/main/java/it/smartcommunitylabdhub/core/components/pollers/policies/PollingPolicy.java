@@ -0,0 +1,29 @@
+package it.smartcommunitylabdhub.core.components.pollers.policies;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decide how long a poller waits between two polls. A policy is stateless and
+ * can be shared: the poller tells it how many polls in a row made no progress.
+ */
+public interface PollingPolicy {
+
+    /**
+     * Delay before the first poll.
+     *
+     * @return delay in milliseconds
+     */
+    long initialDelay();
+
+    /**
+     * Delay before the next poll.
+     *
+     * @param idlePolls consecutive polls whose workflows returned no result
+     * @return delay in milliseconds
+     */
+    long nextDelay(int idlePolls);
+
+    static PollingPolicy fixed(long delay, TimeUnit unit) {
+        return new FixedPollingPolicy(unit.toMillis(delay));
+    }
+}
@@ -0,0 +1,82 @@
+package it.smartcommunitylabdhub.core.components.resilience;
+
+import it.smartcommunitylabdhub.core.exceptions.CircuitBreakerOpen;
+
+/**
+ * Consecutive failures circuit breaker shared by all the callers of a service.
+ *
+ * CLOSED: calls go through, after failureThreshold consecutive failures the
+ * breaker opens. OPEN: calls fail immediately for openDuration. HALF_OPEN: one
+ * call is let through, its outcome closes or opens the breaker again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDuration;
+    private int failures;
+    private long openedAt;
+    private volatile State state;
+
+    /**
+     * @param name             service name, used in messages
+     * @param failureThreshold consecutive failures opening the breaker
+     * @param openDuration     milliseconds the breaker stays open
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.state = State.CLOSED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Check that a call can be done.
+     *
+     * @throws CircuitBreakerOpen if the breaker is open or a probe call is
+     *                            already in progress
+     */
+    public synchronized void acquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDuration) {
+                throw new CircuitBreakerOpen("Circuit breaker " + name + " is open");
+            }
+            // Let a single probe call through
+            state = State.HALF_OPEN;
+            System.out.println("Circuit breaker " + name + " half open");
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            throw new CircuitBreakerOpen("Circuit breaker " + name + " is probing");
+        }
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        if (state != State.CLOSED) {
+            System.out.println("Circuit breaker " + name + " closed");
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            if (state != State.OPEN) {
+                System.out.println("Circuit breaker " + name + " open");
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            failures = 0;
+        }
+    }
+}
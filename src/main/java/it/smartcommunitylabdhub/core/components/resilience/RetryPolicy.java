@@ -0,0 +1,61 @@
+package it.smartcommunitylabdhub.core.components.resilience;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
+/**
+ * Retry a call with exponential backoff while it fails with a retryable
+ * exception. The last failure is rethrown once the attempts are exhausted.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long backoff;
+    private final double multiplier;
+    private final long maxBackoff;
+    private final Predicate<Throwable> retryOn;
+
+    /**
+     * @param maxAttempts attempts including the first one
+     * @param backoff     milliseconds before the first retry
+     * @param multiplier  backoff growth between retries
+     * @param maxBackoff  backoff ceiling in milliseconds
+     * @param retryOn     exceptions worth a retry
+     */
+    public RetryPolicy(int maxAttempts, long backoff, double multiplier, long maxBackoff,
+            Predicate<Throwable> retryOn) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+        this.multiplier = multiplier;
+        this.maxBackoff = maxBackoff;
+        this.retryOn = retryOn;
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0, 1, 0, e -> false);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        long delay = backoff;
+        for (int attempt = 1;; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !retryOn.test(e)) {
+                    throw e;
+                }
+                System.out.println("Retry " + attempt + "/" + (maxAttempts - 1) + " in " + delay + "ms: "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new WorkflowTimeout("Retry cancelled");
+                }
+                delay = Math.min(maxBackoff, (long) (delay * multiplier));
+            }
+        }
+    }
+}
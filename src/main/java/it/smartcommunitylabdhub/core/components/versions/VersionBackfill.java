@@ -0,0 +1,78 @@
+package it.smartcommunitylabdhub.core.components.versions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import it.smartcommunitylabdhub.core.repositories.VersionedRepository;
+
+/**
+ * Versions stored before version numbers were introduced have none: number
+ * them by creation, before the numbered ones, and flag the latest version of
+ * each name. Runs in a single transaction once the bean is initialized, the
+ * polling service depends on it so that no poller stores a new version first.
+ */
+@Component
+public class VersionBackfill implements InitializingBean {
+
+    @Autowired
+    List<VersionedRepository> versionedRepositories;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterPropertiesSet() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (VersionedRepository repository : versionedRepositories) {
+                backfill(repository);
+            }
+        });
+    }
+
+    public int backfill(VersionedRepository repository) {
+        // ordered by project, name and creation
+        List<Object[]> versions = repository.findUnversioned();
+        if (versions.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String[]> names = new LinkedHashMap<>();
+        Map<String, List<String>> ids = new LinkedHashMap<>();
+        for (Object[] version : versions) {
+            String project = (String) version[1];
+            String name = (String) version[2];
+            String key = project + "/" + name;
+
+            names.putIfAbsent(key, new String[] { project, name });
+            ids.computeIfAbsent(key, k -> new ArrayList<>()).add((String) version[0]);
+        }
+
+        names.forEach((key, name) -> {
+            List<String> unversioned = ids.get(key);
+
+            // Numbered versions were created after the others, move them up in
+            // two steps so that no version collides with another one meanwhile
+            if (repository.findLastVersion(name[0], name[1]) > 0) {
+                repository.negateVersions(name[0], name[1], -unversioned.size());
+                repository.negateVersions(name[0], name[1], 0);
+            }
+            for (int i = 0; i < unversioned.size(); i++) {
+                repository.updateVersion(unversioned.get(i), i + 1);
+            }
+
+            repository.clearLatest(name[0], name[1]);
+            repository.restoreLatest(name[0], name[1]);
+        });
+
+        System.out.println("Numbered " + versions.size() + " versions of " + names.size() + " names");
+        return versions.size();
+    }
+}
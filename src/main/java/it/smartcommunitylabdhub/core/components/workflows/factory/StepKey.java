@@ -0,0 +1,28 @@
+package it.smartcommunitylabdhub.core.components.workflows.factory;
+
+/**
+ * Typed name of a workflow graph node, used to read the node result from
+ * {@link StepResults} without casts.
+ *
+ * @param <T> type of the node result
+ */
+public final class StepKey<T> {
+    private final String name;
+
+    private StepKey(String name) {
+        this.name = name;
+    }
+
+    public static <T> StepKey<T> of(String name) {
+        return new StepKey<>(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
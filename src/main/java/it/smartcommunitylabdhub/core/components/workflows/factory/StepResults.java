@@ -0,0 +1,50 @@
+package it.smartcommunitylabdhub.core.components.workflows.factory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of the nodes of a workflow graph. Every node receives the results
+ * of the nodes it depends on, and the whole graph returns the results of all
+ * its nodes to the next workflow step.
+ */
+public class StepResults {
+    private final Object input;
+    private final Map<StepKey<?>, Optional<Object>> results;
+
+    StepResults(Object input) {
+        this.input = input;
+        this.results = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Input the graph was executed with.
+     */
+    @SuppressWarnings("unchecked")
+    public <I> I input() {
+        return (I) input;
+    }
+
+    /**
+     * Result of a node, null if the node returned null.
+     *
+     * @throws IllegalStateException if the node has not been executed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(StepKey<T> key) {
+        Optional<Object> result = results.get(key);
+        if (result == null) {
+            throw new IllegalStateException("No result for step " + key);
+        }
+        return (T) result.orElse(null);
+    }
+
+    public boolean contains(StepKey<?> key) {
+        return results.containsKey(key);
+    }
+
+    <T> void put(StepKey<T> key, T result) {
+        results.put(key, Optional.ofNullable(result));
+    }
+}
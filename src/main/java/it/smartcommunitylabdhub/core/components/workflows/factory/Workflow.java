@@ -1,32 +1,77 @@
-
 package it.smartcommunitylabdhub.core.components.workflows.factory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
 public class Workflow {
     private final List<Function<?, ?>> steps;
+    private final List<Duration> stepTimeouts;
+    private final Duration timeout;
 
     public Workflow(List<Function<?, ?>> steps) {
+        this(steps, Collections.nCopies(steps.size(), null), null);
+    }
+
+    /**
+     * @param steps        workflow steps
+     * @param stepTimeouts timeout of each step, null for no timeout
+     * @param timeout      timeout of the whole workflow, null for no timeout
+     */
+    public Workflow(List<Function<?, ?>> steps, List<Duration> stepTimeouts, Duration timeout) {
         this.steps = steps;
+        this.stepTimeouts = new ArrayList<>(stepTimeouts);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Timeout of the whole workflow.
+     *
+     * @return timeout, null if the workflow has none
+     */
+    public Duration getTimeout() {
+        return timeout;
     }
 
     /**
      * Execute step
      *
+     * Deadlines are checked cooperatively: before each step the workflow fails
+     * if it was interrupted or its deadline passed, after each step if the step
+     * took longer than its own timeout. A step is never interrupted by the
+     * workflow itself, the executor running it can interrupt its thread.
+     *
      * @param input
      * @return
      */
     @SuppressWarnings("unchecked")
     public <I, O> O execute(I input) {
+        long start = System.nanoTime();
         Object result = input;
-        for (Function<?, ?> step : steps) {
-            result = ((Function<Object, Object>) step).apply(result);
+        for (int i = 0; i < steps.size(); i++) {
+            checkDeadline(start, timeout, "Workflow");
+
+            long stepStart = System.nanoTime();
+            result = ((Function<Object, Object>) steps.get(i)).apply(result);
+            checkDeadline(stepStart, stepTimeouts.get(i), "Step " + i);
         }
         return (O) result;
     }
 
+    private void checkDeadline(long start, Duration limit, String what) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new WorkflowTimeout(what + " cancelled");
+        }
+        if (limit != null && System.nanoTime() - start > limit.toNanos()) {
+            throw new WorkflowTimeout(what + " exceeded timeout of " + limit.toMillis() + "ms");
+        }
+    }
+
     /**
      * Execute step async every step pass the result to the next function.
      *
@@ -41,4 +86,4 @@ public class Workflow {
         }
         return future.thenApply(result -> (O) result);
     }
-}
\ No newline at end of file
+}
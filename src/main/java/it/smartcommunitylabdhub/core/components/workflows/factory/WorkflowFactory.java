@@ -1,19 +1,35 @@
 package it.smartcommunitylabdhub.core.components.workflows.factory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+
 /**
  * This is a workflow factory ... the idea is that each kind function,
  * artifact, dataitem, workflow has their workflow
  * to speak with Some external services.
+ *
+ * Besides linear steps a workflow can contain graphs of nodes added with
+ * {@link #node}: consecutive nodes form one graph executed as a single step,
+ * independent nodes run in parallel on the workflow executor and the next
+ * step receives the {@link StepResults} of the graph.
  */
 public class WorkflowFactory {
     private final List<Function<?, ?>> steps;
+    private final List<Duration> stepTimeouts;
+    private Duration timeout;
+    private Executor executor;
+    private WorkflowGraph graph;
 
     private WorkflowFactory() {
         this.steps = new ArrayList<>();
+        this.stepTimeouts = new ArrayList<>();
+        // Without an executor graph nodes run one after the other in the caller
+        this.executor = Runnable::run;
     }
 
     public static WorkflowFactory builder() {
@@ -21,23 +37,27 @@ public class WorkflowFactory {
     }
 
     public <I, O> WorkflowFactory step(Function<I, O> step) {
+        closeGraph();
         steps.add(step);
         return this;
     }
 
     public <I, O> WorkflowFactory step(Function<I, O> step, I argument) {
+        closeGraph();
         steps.add(input -> step.apply(argument));
         return this;
     }
 
     @SuppressWarnings("unchecked")
     public <I, O> WorkflowFactory step(Function<I[], O> step, I... argument) {
+        closeGraph();
         steps.add(input -> step.apply(argument));
         return this;
     }
 
     @SuppressWarnings("unchecked")
     public <I, O> WorkflowFactory conditionalStep(Function<I, Boolean> condition, Function<I, O> step) {
+        closeGraph();
         steps.add((Function<Object, Object>) (input) -> {
             if (condition.apply((I) input)) {
                 return step.apply((I) input);
@@ -48,7 +68,81 @@ public class WorkflowFactory {
         return this;
     }
 
+    /**
+     * Add a node to the current graph.
+     *
+     * @param key          typed name of the node result
+     * @param step         node function, reads graph input and dependencies
+     *                     results from {@link StepResults}
+     * @param dependencies nodes that must complete before this one, they must
+     *                     be already added
+     */
+    public <O> WorkflowFactory node(StepKey<O> key, Function<StepResults, O> step, StepKey<?>... dependencies) {
+        if (graph == null) {
+            graph = new WorkflowGraph();
+        }
+        graph.add(key, step, dependencies);
+        return this;
+    }
+
+    /**
+     * Set the executor running graph nodes.
+     */
+    public WorkflowFactory executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Set the timeout of the last added step.
+     */
+    public WorkflowFactory stepTimeout(Duration stepTimeout) {
+        closeGraph();
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("No step to apply the timeout to");
+        }
+        while (stepTimeouts.size() < steps.size()) {
+            stepTimeouts.add(null);
+        }
+        stepTimeouts.set(steps.size() - 1, stepTimeout);
+        return this;
+    }
+
+    /**
+     * Retry the last added step according to the policy.
+     */
+    @SuppressWarnings("unchecked")
+    public WorkflowFactory retry(RetryPolicy retryPolicy) {
+        closeGraph();
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("No step to apply the retry to");
+        }
+        Function<Object, Object> step = (Function<Object, Object>) steps.get(steps.size() - 1);
+        steps.set(steps.size() - 1, input -> retryPolicy.execute(() -> step.apply(input)));
+        return this;
+    }
+
+    /**
+     * Set the timeout of the whole workflow.
+     */
+    public WorkflowFactory timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    private void closeGraph() {
+        if (graph != null) {
+            WorkflowGraph current = graph;
+            graph = null;
+            steps.add(input -> current.execute(input, this.executor));
+        }
+    }
+
     public Workflow build() {
-        return new Workflow(steps);
+        closeGraph();
+        while (stepTimeouts.size() < steps.size()) {
+            stepTimeouts.add(null);
+        }
+        return new Workflow(steps, stepTimeouts, timeout);
     }
 }
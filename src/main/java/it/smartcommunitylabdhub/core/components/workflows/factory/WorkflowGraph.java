@@ -0,0 +1,153 @@
+package it.smartcommunitylabdhub.core.components.workflows.factory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
+/**
+ * Directed acyclic graph of workflow nodes. A node starts as soon as all the
+ * nodes it depends on are completed, so independent nodes run in parallel on
+ * the graph executor. Nodes can only depend on nodes added before them, which
+ * keeps the graph acyclic by construction.
+ */
+class WorkflowGraph {
+    private final Map<StepKey<?>, Node<?>> nodes;
+
+    WorkflowGraph() {
+        this.nodes = new LinkedHashMap<>();
+    }
+
+    <O> void add(StepKey<O> key, Function<StepResults, O> step, StepKey<?>... dependencies) {
+        if (nodes.containsKey(key)) {
+            throw new IllegalArgumentException("Step " + key + " already defined");
+        }
+        for (StepKey<?> dependency : dependencies) {
+            if (!nodes.containsKey(dependency)) {
+                throw new IllegalArgumentException("Step " + key + " depends on unknown step " + dependency);
+            }
+        }
+        nodes.put(key, new Node<>(key, step, List.of(dependencies)));
+    }
+
+    boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * Execute all nodes and wait for them.
+     *
+     * @param input    graph input, available to every node
+     * @param executor executor running the nodes
+     * @return results of all nodes
+     */
+    StepResults execute(Object input, Executor executor) {
+        StepResults results = new StepResults(input);
+        Map<StepKey<?>, NodeTask> tasks = new LinkedHashMap<>();
+
+        for (Node<?> node : nodes.values()) {
+            // Fan in: wait for every dependency
+            CompletableFuture<?>[] dependencies = node.dependencies.stream()
+                    .map(dependency -> tasks.get(dependency).completion)
+                    .toArray(CompletableFuture[]::new);
+
+            NodeTask task = new NodeTask(() -> node.run(results));
+            tasks.put(node.key, task);
+            CompletableFuture.allOf(dependencies).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    task.completion.completeExceptionally(unwrap(error));
+                    return;
+                }
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.completion.completeExceptionally(e);
+                }
+            });
+        }
+
+        Map<StepKey<?>, CompletableFuture<?>> futures = new LinkedHashMap<>();
+        tasks.forEach((key, task) -> futures.put(key, task.completion));
+        CompletableFuture<Void> all = CompletableFuture.allOf(
+                new ArrayList<>(futures.values()).toArray(CompletableFuture[]::new));
+        try {
+            all.get();
+            return results;
+        } catch (InterruptedException e) {
+            // Interrupt running nodes, pending ones will never start
+            tasks.values().forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new WorkflowTimeout("Workflow graph cancelled");
+        } catch (ExecutionException e) {
+            // Report the failure of the node, not of the graph
+            Throwable cause = unwrap(e.getCause());
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Node submitted to the executor as a plain task, so that cancelling it
+     * interrupts the thread running the node. Dependants chain on
+     * {@code completion}, which mirrors the task outcome.
+     */
+    private static class NodeTask extends FutureTask<Void> {
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        NodeTask(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                completion.cancel(false);
+                return;
+            }
+            try {
+                get();
+                completion.complete(null);
+            } catch (ExecutionException e) {
+                completion.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                completion.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class Node<O> {
+        private final StepKey<O> key;
+        private final Function<StepResults, O> step;
+        private final List<StepKey<?>> dependencies;
+
+        Node(StepKey<O> key, Function<StepResults, O> step, List<StepKey<?>> dependencies) {
+            this.key = key;
+            this.step = step;
+            this.dependencies = dependencies;
+        }
+
+        void run(StepResults results) {
+            results.put(key, step.apply(results));
+        }
+    }
+}
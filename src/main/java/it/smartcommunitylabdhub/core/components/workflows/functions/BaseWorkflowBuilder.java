@@ -2,17 +2,28 @@ package it.smartcommunitylabdhub.core.components.workflows.functions;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+
 @Component
 public class BaseWorkflowBuilder {
     protected ParameterizedTypeReference<Map<String, Object>> responseType;
+
+    // Shared client, calls go through the mlrun circuit breaker
+    @Autowired
+    @Qualifier("mlrunRestTemplate")
     protected RestTemplate restTemplate;
 
+    @Autowired
+    @Qualifier("mlrunRetryPolicy")
+    protected RetryPolicy retryPolicy;
+
     public BaseWorkflowBuilder() {
-        this.restTemplate = new RestTemplate();
         this.responseType = new ParameterizedTypeReference<Map<String, Object>>() {
         };
     }
@@ -1,15 +1,25 @@
 package it.smartcommunitylabdhub.core.config;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
 import it.smartcommunitylabdhub.core.components.pollers.PollingService;
+import it.smartcommunitylabdhub.core.components.pollers.policies.BackoffPollingPolicy;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
 
 @Configuration
 @EnableAsync
@@ -28,10 +38,48 @@ public class AsyncConfig implements AsyncConfigurer {
     }
 
     @Bean
-    PollingService pollingService() {
+    Executor workflowExecutor(@Value("${workflow.executor.pool-size}") int poolSize) {
+        // Run the parallel nodes of workflow graphs, when the pool is full the
+        // node runs in the caller so a graph never waits for a free thread
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Workflow-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 
-        // Create new Polling service instance
-        PollingService pollingService = new PollingService();
+    // Versions stored before version numbers are numbered before any poller
+    // can store a new one
+    @Bean
+    @DependsOn("versionBackfill")
+    PollingService pollingService(
+            @Value("${poller.scheduler.pool-size}") int schedulerPoolSize,
+            @Value("${poller.worker.pool-size}") int workerPoolSize,
+            @Value("${poller.worker.queue-size}") int workerQueueSize,
+            @Value("${poller.workflow.timeout}") long workflowTimeout,
+            MeterRegistry meterRegistry) {
+
+        // Create new Polling service instance, all pollers share its scheduler
+        // and its workflow executor
+        PollingService pollingService = new PollingService(schedulerPoolSize, workerPoolSize, workerQueueSize,
+                Duration.ofMillis(workflowTimeout));
+
+        // Expose the scheduler queue depth
+        Gauge.builder("poller.scheduler.queue", pollingService, PollingService::getQueueDepth)
+                .description("Polls waiting in the shared poller scheduler")
+                .register(meterRegistry);
+        Gauge.builder("poller.workflow.queue", pollingService, PollingService::getWorkflowQueueDepth)
+                .description("Poller workflows waiting for a worker")
+                .register(meterRegistry);
+
+        // Count workflow timeouts per poller type: names like "run:<uuid>" are
+        // tagged by their prefix to keep the tag cardinality bounded
+        pollingService.setTimeoutListener(poller -> meterRegistry
+                .counter("poller.workflow.timeouts", "poller", pollerType(poller.getName()))
+                .increment());
 
         // CREATE POLLERS EXAMPLE
         //
@@ -60,4 +108,57 @@ public class AsyncConfig implements AsyncConfigurer {
         return pollingService;
     }
 
+
+    /**
+     * Admission of runs to their runtime, queue depth, in flight runs, queue
+     * wait and rejections are exposed as metrics.
+     */
+    @Bean(destroyMethod = "shutdown")
+    RunAdmission runAdmission(
+            @Value("${run.admission.max-in-flight}") int maxInFlight,
+            @Value("${run.admission.max-in-flight-per-project}") int maxInFlightPerProject,
+            @Value("${run.admission.queue-size}") int queueSize,
+            @Value("${run.admission.retry-after}") long retryAfter,
+            MeterRegistry meterRegistry) {
+
+        RunAdmission runAdmission = new RunAdmission(maxInFlight, maxInFlightPerProject, queueSize, retryAfter);
+
+        Gauge.builder("run.admission.queue", runAdmission, RunAdmission::getQueueDepth)
+                .description("Runs waiting for admission")
+                .register(meterRegistry);
+        Gauge.builder("run.admission.in-flight", runAdmission, RunAdmission::getInFlight)
+                .description("Runs being dispatched to their runtime")
+                .register(meterRegistry);
+
+        Timer wait = Timer.builder("run.admission.wait")
+                .description("Time runs waited for admission")
+                .register(meterRegistry);
+        runAdmission.setWaitListener(wait::record);
+
+        Counter rejected = Counter.builder("run.admission.rejected")
+                .description("Runs rejected because the admission queue was full")
+                .register(meterRegistry);
+        runAdmission.setRejectListener(rejected::increment);
+
+        return runAdmission;
+    }
+
+    /**
+     * Interval policy of run pollers: fast right after submission and after
+     * every state change, exponential backoff while the run state stays the
+     * same.
+     */
+    @Bean
+    PollingPolicy runPollingPolicy(
+            @Value("${poller.run.initial-delay}") long initialDelay,
+            @Value("${poller.run.max-delay}") long maxDelay,
+            @Value("${poller.run.multiplier}") double multiplier,
+            @Value("${poller.run.jitter}") double jitter) {
+        return new BackoffPollingPolicy(initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    private static String pollerType(String name) {
+        int separator = name.indexOf(':');
+        return separator < 0 ? name : name.substring(0, separator);
+    }
 }
@@ -1,5 +1,6 @@
 package it.smartcommunitylabdhub.core.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -7,11 +8,13 @@ import it.smartcommunitylabdhub.core.models.converters.CommandFactory;
 import it.smartcommunitylabdhub.core.models.converters.ConverterFactoryImpl;
 import it.smartcommunitylabdhub.core.models.converters.interfaces.ConverterFactory;
 import it.smartcommunitylabdhub.core.models.converters.types.ArtifactConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.BlobConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.CBORConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.DataItemConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.DateTimeConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.FunctionConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.IntegerConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.KryoConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.LogConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.ProjectConverter;
 import it.smartcommunitylabdhub.core.models.converters.types.RunConverter;
@@ -23,7 +26,7 @@ import it.smartcommunitylabdhub.core.models.converters.types.mlrun.FunctionToMlr
 public class ConverterConfig {
 
     @Bean
-    ConverterFactory converterFactory() {
+    ConverterFactory converterFactory(@Value("${converter.storage.codec}") String storageCodec) {
         ConverterFactoryImpl factory = new ConverterFactoryImpl();
 
         // Register converter
@@ -33,6 +36,8 @@ public class ConverterConfig {
         factory.registerConverter("workflow", WorkflowConverter::new);
         factory.registerConverter("project", ProjectConverter::new);
         factory.registerConverter("cbor", CBORConverter::new);
+        factory.registerConverter("kryo", KryoConverter::new);
+        factory.registerConverter("blob", () -> new BlobConverter(storageCodec));
         factory.registerConverter("integer", IntegerConverter::new);
         factory.registerConverter("datetime", DateTimeConverter::new);
         factory.registerConverter("run", RunConverter::new);
@@ -0,0 +1,37 @@
+package it.smartcommunitylabdhub.core.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import it.smartcommunitylabdhub.core.components.logs.DatabaseLogStore;
+import it.smartcommunitylabdhub.core.components.logs.FileLogStore;
+import it.smartcommunitylabdhub.core.components.logs.LogStore;
+import it.smartcommunitylabdhub.core.repositories.LogRepository;
+
+@Configuration
+public class LogStoreConfig {
+
+    /**
+     * Storage of run logs content, segment files on local disk or the logs
+     * table. Logs stored in the table before the file store are still read
+     * from there by the file store.
+     */
+    @Bean
+    LogStore logStore(
+            @Value("${logs.store}") String store,
+            @Value("${logs.store.path}") String path,
+            @Value("${logs.store.segment-size}") long segmentSize,
+            @Value("${logs.store.index-interval}") long indexInterval,
+            LogRepository logRepository) {
+
+        return switch (store) {
+            case "file" -> new FileLogStore(Path.of(path), segmentSize, indexInterval,
+                    new DatabaseLogStore(logRepository));
+            case "database" -> new DatabaseLogStore(logRepository);
+            default -> throw new IllegalArgumentException("Unknown log store " + store);
+        };
+    }
+}
@@ -11,8 +11,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
@@ -48,6 +52,31 @@ public class RunController {
         return ResponseEntity.ok(this.logService.getLogsByRunUuid(uuid));
     }
 
+    @Operation(summary = "Run log content", description = "Return the log of a specific run as text, a byte range from offset or a line range from line")
+    @GetMapping(path = "/{uuid}/log/content", produces = "text/plain; charset=UTF-8")
+    public ResponseEntity<StreamingResponseBody> getRunLogContent(
+            @ValidateField @PathVariable(name = "uuid", required = true) String uuid,
+            @RequestParam(name = "offset", required = false) Long offset,
+            @RequestParam(name = "length", defaultValue = "" + Long.MAX_VALUE) long length,
+            @RequestParam(name = "line", required = false) Long line,
+            @RequestParam(name = "lines", defaultValue = "" + Long.MAX_VALUE) long lines) {
+        // Written straight from the log store to the response
+        return ResponseEntity.ok(line != null
+                ? out -> this.logService.readLogLines(uuid, line, lines, out)
+                : out -> this.logService.readLog(uuid, offset == null ? 0 : offset,
+                        Math.min(length, Long.MAX_VALUE - (offset == null ? 0 : offset)), out));
+    }
+
+    @Operation(summary = "Follow run log", description = "Stream the log of a specific run as server sent events from offset, new chunks are pushed until the run is over")
+    @GetMapping(path = "/{uuid}/log/follow", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followRunLog(
+            @ValidateField @PathVariable(name = "uuid", required = true) String uuid,
+            @RequestParam(name = "offset", defaultValue = "0") long offset,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        // Reconnecting clients resume after the last chunk they got
+        return this.logService.followLog(uuid, lastEventId != null ? lastEventId : offset);
+    }
+
     @Operation(summary = "Run list", description = "Return a list of all runs")
     @GetMapping(path = "", produces = "application/json; charset=UTF-8")
     public ResponseEntity<List<RunDTO>> getRuns(Pageable pageable) {
@@ -61,6 +90,13 @@ public class RunController {
         return ResponseEntity.ok(this.runService.createRun(runExecDTO));
     }
 
+    @Operation(summary = "Create and execute many runs", description = "Create a batch of runs, for instance the runs of a parameter sweep, and then execute them")
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            "application/x-yaml" }, produces = "application/json; charset=UTF-8")
+    public ResponseEntity<List<RunDTO>> createRuns(@Valid @RequestBody List<RunExecDTO> runExecDTOs) {
+        return ResponseEntity.ok(this.runService.createRuns(runExecDTOs));
+    }
+
     @Operation(summary = "Delete a run", description = "Delete a specific run")
     @DeleteMapping(path = "/{uuid}")
     public ResponseEntity<Boolean> deleteRun(@ValidateField @PathVariable(name = "uuid", required = true) String uuid) {
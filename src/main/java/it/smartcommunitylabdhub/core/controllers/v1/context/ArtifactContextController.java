@@ -83,6 +83,17 @@ public class ArtifactContextController extends ContextController {
                                 .getLatestByProjectNameAndArtifactName(project, name));
         }
 
+        @Operation(summary = "Retrive a specific artifact version given its number", description = "First check if project exist and then return the version of the artifact with the given number)")
+        @GetMapping(path = "/artifacts/{name}/versions/{version}", produces = "application/json; charset=UTF-8")
+        public ResponseEntity<ArtifactDTO> getArtifactByVersion(
+                        @ValidateField @PathVariable String project,
+                        @ValidateField @PathVariable String name,
+                        @PathVariable Long version) {
+
+                return ResponseEntity.ok(this.artifactContextService
+                                .getByProjectNameAndArtifactNameAndVersion(project, name, version));
+        }
+
         @Operation(summary = "Create an  or update an artifact in a project context", description = "First check if project exist, if artifact exist update one otherwise create a new version of the artifact")
         @PostMapping(value = "/artifacts/{name}", consumes = { MediaType.APPLICATION_JSON_VALUE,
                         "application/x-yaml" }, produces = "application/json; charset=UTF-8")
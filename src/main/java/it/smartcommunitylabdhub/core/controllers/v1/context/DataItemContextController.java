@@ -83,6 +83,17 @@ public class DataItemContextController extends ContextController {
                                 .getLatestByProjectNameAndDataItemName(project, name));
         }
 
+        @Operation(summary = "Retrive a specific dataitem version given its number", description = "First check if project exist and then return the version of the dataitem with the given number)")
+        @GetMapping(path = "/dataitems/{name}/versions/{version}", produces = "application/json; charset=UTF-8")
+        public ResponseEntity<DataItemDTO> getDataItemByVersion(
+                        @ValidateField @PathVariable String project,
+                        @ValidateField @PathVariable String name,
+                        @PathVariable Long version) {
+
+                return ResponseEntity.ok(this.dataItemContextService
+                                .getByProjectNameAndDataItemNameAndVersion(project, name, version));
+        }
+
         @Operation(summary = "Create an  or update an dataItem in a project context", description = "First check if project exist, if dataItem exist update one otherwise create a new version of the dataItem")
         @PostMapping(value = "/dataitems/{name}", consumes = { MediaType.APPLICATION_JSON_VALUE,
                         "application/x-yaml" }, produces = "application/json; charset=UTF-8")
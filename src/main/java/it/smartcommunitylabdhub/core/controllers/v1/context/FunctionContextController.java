@@ -83,6 +83,17 @@ public class FunctionContextController extends ContextController {
                                 .getLatestByProjectNameAndFunctionName(project, name));
         }
 
+        @Operation(summary = "Retrive a specific function version given its number", description = "First check if project exist and then return the version of the function with the given number)")
+        @GetMapping(path = "/functions/{name}/versions/{version}", produces = "application/json; charset=UTF-8")
+        public ResponseEntity<FunctionDTO> getFunctionByVersion(
+                        @ValidateField @PathVariable String project,
+                        @ValidateField @PathVariable String name,
+                        @PathVariable Long version) {
+
+                return ResponseEntity.ok(this.functionContextService
+                                .getByProjectNameAndFunctionNameAndVersion(project, name, version));
+        }
+
         @Operation(summary = "Create an  or update an function in a project context", description = "First check if project exist, if function exist update one otherwise create a new version of the function")
         @PostMapping(value = "/functions/{name}", consumes = { MediaType.APPLICATION_JSON_VALUE,
                         "application/x-yaml" }, produces = "application/json; charset=UTF-8")
@@ -83,6 +83,17 @@ public class WorkflowContextController extends ContextController {
                                 .getLatestByProjectNameAndWorkflowName(project, name));
         }
 
+        @Operation(summary = "Retrive a specific workflow version given its number", description = "First check if project exist and then return the version of the workflow with the given number)")
+        @GetMapping(path = "/workflows/{name}/versions/{version}", produces = "application/json; charset=UTF-8")
+        public ResponseEntity<WorkflowDTO> getWorkflowByVersion(
+                        @ValidateField @PathVariable String project,
+                        @ValidateField @PathVariable String name,
+                        @PathVariable Long version) {
+
+                return ResponseEntity.ok(this.workflowContextService
+                                .getByProjectNameAndWorkflowNameAndVersion(project, name, version));
+        }
+
         @Operation(summary = "Create an  or update an workflow in a project context", description = "First check if project exist, if workflow exist update one otherwise create a new version of the workflow")
         @PostMapping(value = "/workflows/{name}", consumes = { MediaType.APPLICATION_JSON_VALUE,
                         "application/x-yaml" }, produces = "application/json; charset=UTF-8")
@@ -0,0 +1,11 @@
+package it.smartcommunitylabdhub.core.exceptions;
+
+/**
+ * Raised instead of calling a service whose circuit breaker is open.
+ */
+public class CircuitBreakerOpen extends SkipPoll {
+
+    public CircuitBreakerOpen(String message) {
+        super(message);
+    }
+}
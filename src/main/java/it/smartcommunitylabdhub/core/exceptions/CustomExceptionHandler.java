@@ -1,5 +1,7 @@
 package it.smartcommunitylabdhub.core.exceptions;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -24,6 +26,43 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(ex.getStatus()).body(errorResponse);
     }
 
+    @ExceptionHandler(RunAdmissionRejected.class)
+    public ResponseEntity<ErrorResponse> handleRunAdmissionRejected(RunAdmissionRejected ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setStatus(ex.getStatus().value());
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setErrorCode(ex.getErrorCode());
+
+        // Tell the client when to submit again
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        if (isVersionConflict(ex)) {
+            // Another instance stored the same version meanwhile, the client can retry
+            errorResponse.setStatus(HttpStatus.CONFLICT.value());
+            errorResponse.setErrorCode("VersionConflict");
+            errorResponse.setMessage("A version with the same number was stored meanwhile, retry.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+
+        // The database message is not returned to clients
+        errorResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        errorResponse.setMessage("Data integrity violation.");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    // Versioned entities declare a uk_<table>_project_name_version constraint
+    private static boolean isVersionConflict(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains("_project_name_version");
+    }
+
     @ExceptionHandler(BindException.class)
     public ResponseEntity<?> handleValidationException(BindException ex) {
         // String errorMessage = ex.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,21 @@
+package it.smartcommunitylabdhub.core.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a run cannot be queued for admission, the client should submit
+ * it again after retryAfter seconds.
+ */
+public class RunAdmissionRejected extends CoreException {
+
+    private final long retryAfter;
+
+    public RunAdmissionRejected(String message, long retryAfter) {
+        super("RunAdmissionRejected", message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
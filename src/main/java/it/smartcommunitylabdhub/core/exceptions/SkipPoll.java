@@ -0,0 +1,16 @@
+package it.smartcommunitylabdhub.core.exceptions;
+
+/**
+ * Raised by a poller workflow that failed for a transient reason: the poll is
+ * skipped and the poller keeps polling, backing off, instead of stopping.
+ */
+public class SkipPoll extends RuntimeException {
+
+    public SkipPoll(String message) {
+        super(message);
+    }
+
+    public SkipPoll(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
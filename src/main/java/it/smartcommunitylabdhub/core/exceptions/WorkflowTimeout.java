@@ -0,0 +1,12 @@
+package it.smartcommunitylabdhub.core.exceptions;
+
+/**
+ * Raised when a workflow or one of its steps runs past its deadline or the
+ * workflow has been cancelled.
+ */
+public class WorkflowTimeout extends RuntimeException {
+
+    public WorkflowTimeout(String message) {
+        super(message);
+    }
+}
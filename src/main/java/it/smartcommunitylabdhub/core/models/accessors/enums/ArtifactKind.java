@@ -1,5 +1,46 @@
 package it.smartcommunitylabdhub.core.models.accessors.enums;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import it.smartcommunitylabdhub.core.models.accessors.kinds.artifacts.MlrunArtifactFieldAccessor;
+import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.ArtifactFieldAccessor;
+
 public enum ArtifactKind {
 
+    ARTIFACT("artifact", MlrunArtifactFieldAccessor::new, MlrunArtifactFieldAccessor.class),
+    MODEL("model", MlrunArtifactFieldAccessor::new, MlrunArtifactFieldAccessor.class);
+
+    private final String value;
+    private final AccessorFactoryKind<ArtifactFieldAccessor> accessorFactory;
+    private final Class<? extends ArtifactFieldAccessor> accessorClass;
+
+    ArtifactKind(String value, AccessorFactoryKind<ArtifactFieldAccessor> accessorFactory,
+            Class<? extends ArtifactFieldAccessor> accessorClass) {
+        this.value = value;
+        this.accessorFactory = accessorFactory;
+        this.accessorClass = accessorClass;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public ArtifactFieldAccessor createAccessor(Map<String, Object> fields) {
+        return accessorFactory.create(fields);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T invokeMethod(ArtifactFieldAccessor accessor, String methodName) {
+        if (accessorClass != null) {
+            try {
+                Method method = accessorClass.getMethod(methodName);
+                return (T) method.invoke(accessor);
+            } catch (Exception e) {
+                // Handle any exceptions that occur during method invocation
+                e.printStackTrace();
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,20 @@
+package it.smartcommunitylabdhub.core.models.accessors.kinds.artifacts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.ArtifactFieldAccessor;
+
+public class MlrunArtifactFieldAccessor implements ArtifactFieldAccessor {
+
+    private final Map<String, Object> fields;
+
+    public MlrunArtifactFieldAccessor(Map<String, Object> fields) {
+        this.fields = new LinkedHashMap<>(fields);
+    }
+
+    @Override
+    public Map<String, Object> getFields() {
+        return this.fields;
+    }
+}
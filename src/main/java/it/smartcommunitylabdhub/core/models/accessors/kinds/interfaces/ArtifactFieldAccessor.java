@@ -1,5 +1,38 @@
 package it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces;
 
+import java.util.Map;
+
 public interface ArtifactFieldAccessor extends CommonFieldAccessor {
 
+    @SuppressWarnings("unchecked")
+    default Map<String, String> getLabels() {
+        return mapHasField(getMetadata(), "labels") ? (Map<String, String>) getMetadata().get("labels") : null;
+    }
+
+    default String getKey() {
+        return mapHasField(getMetadata(), "key") ? (String) getMetadata().get("key") : null;
+    }
+
+    default String getTree() {
+        return mapHasField(getMetadata(), "tree") ? (String) getMetadata().get("tree") : null;
+    }
+
+    default Integer getIter() {
+        return mapHasField(getMetadata(), "iter") ? (Integer) getMetadata().get("iter") : null;
+    }
+
+    default String getProject() {
+        return mapHasField(getMetadata(), "project") ? (String) getMetadata().get("project") : null;
+    }
+
+    default String getUpdated() {
+        return mapHasField(getMetadata(), "updated") ? (String) getMetadata().get("updated") : null;
+    }
+
+    // Status
+
+    default String getState() {
+        return mapHasField(getStatus(), "state") ? (String) getStatus().get("state") : null;
+    }
+
 }
@@ -31,6 +31,10 @@ public interface DataItemFieldAccessor extends CommonFieldAccessor {
         return mapHasField(getMetadata(), "project") ? (String) getMetadata().get("project") : null;
     }
 
+    default String getUpdated() {
+        return mapHasField(getMetadata(), "updated") ? (String) getMetadata().get("updated") : null;
+    }
+
     // Status
 
     default String getState() {
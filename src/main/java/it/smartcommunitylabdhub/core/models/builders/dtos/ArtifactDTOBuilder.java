@@ -20,24 +20,25 @@ public class ArtifactDTOBuilder {
                                         .with(dto -> dto.setKind(artifact.getKind()))
                                         .with(dto -> dto.setProject(artifact.getProject()))
                                         .with(dto -> dto.setName(artifact.getName()))
+                                        .with(dto -> dto.setVersion(artifact.getVersion()))
 
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(artifact.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setSpec(ConversionUtils.reverse(
+                                                                                .setSpec(ConversionUtils.reverseLazy(
                                                                                                 artifact.getSpec(),
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(artifact.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setExtra(ConversionUtils.reverse(
+                                                                                .setExtra(ConversionUtils.reverseLazy(
                                                                                                 artifact.getExtra(),
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(artifact.getEmbedded())
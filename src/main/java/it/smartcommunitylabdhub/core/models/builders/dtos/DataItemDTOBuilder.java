@@ -20,26 +20,27 @@ public class DataItemDTOBuilder {
                                         .with(dto -> dto.setKind(dataItem.getKind()))
                                         .with(dto -> dto.setProject(dataItem.getProject()))
                                         .with(dto -> dto.setName(dataItem.getName()))
+                                        .with(dto -> dto.setVersion(dataItem.getVersion()))
 
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(dataItem.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setSpec(ConversionUtils.reverse(
+                                                                                .setSpec(ConversionUtils.reverseLazy(
                                                                                                 dataItem.getSpec(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(dataItem.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setExtra(ConversionUtils.reverse(
+                                                                                .setExtra(ConversionUtils.reverseLazy(
                                                                                                 dataItem.getExtra(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(dataItem.getEmbedded())
@@ -22,26 +22,27 @@ public class FunctionDTOBuilder {
                                         .with(dto -> dto.setKind(function.getKind()))
                                         .with(dto -> dto.setProject(function.getProject()))
                                         .with(dto -> dto.setName(function.getName()))
+                                        .with(dto -> dto.setVersion(function.getVersion()))
 
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(function.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setSpec(ConversionUtils.reverse(
+                                                                                .setSpec(ConversionUtils.reverseLazy(
                                                                                                 function.getSpec(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(function.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setExtra(ConversionUtils.reverse(
+                                                                                .setExtra(ConversionUtils.reverseLazy(
                                                                                                 function.getExtra(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(function.getEmbedded())
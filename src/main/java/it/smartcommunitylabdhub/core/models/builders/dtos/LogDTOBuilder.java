@@ -17,8 +17,10 @@ public class LogDTOBuilder {
                                         .with(dto -> dto.setId(log.getId()))
                                         .with(dto -> dto.setRun(log.getRun()))
                                         .with(dto -> dto.setProject(log.getProject()))
-                                        .with(dto -> dto.setBody(ConversionUtils.reverse(log.getBody(), "cbor")))
-                                        .with(dto -> dto.setExtra(ConversionUtils.reverse(log.getExtra(), "cbor")))
+                                        .with(dto -> dto.setBody(ConversionUtils.reverseLazy(log.getBody(), "blob")))
+                                        .with(dto -> dto.setStartOffset(log.getStartOffset()))
+                                        .with(dto -> dto.setEndOffset(log.getEndOffset()))
+                                        .with(dto -> dto.setExtra(ConversionUtils.reverseLazy(log.getExtra(), "blob")))
                                         .with(dto -> dto.setCreated(log.getCreated()))
                                         .with(dto -> dto.setUpdated(log.getUpdated()))
                                         .with(dto -> dto.setState(log.getState() == null
@@ -41,9 +41,9 @@ public class ProjectDTOBuilder {
                                         .with(dto -> dto.setSource(project.getSource()))
                                         .with(dto -> dto.setState(project.getState() == null ? State.CREATED.name()
                                                         : project.getState().name()))
-                                        .with(dto -> dto.setExtra(ConversionUtils.reverse(
+                                        .with(dto -> dto.setExtra(ConversionUtils.reverseLazy(
                                                         project.getExtra(),
-                                                        "cbor")))
+                                                        "blob")))
 
                                         .with(dto -> dto.setFunctions(
                                                         functions.stream()
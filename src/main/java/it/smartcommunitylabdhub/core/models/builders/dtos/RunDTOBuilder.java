@@ -19,8 +19,8 @@ public class RunDTOBuilder {
                                         .with(dto -> dto.setTaskId(run.getTaskId()))
                                         .with(dto -> dto.setProject(run.getProject()))
                                         .with(dto -> dto.setTask(run.getTask()))
-                                        .with(dto -> dto.setSpec(ConversionUtils.reverse(run.getSpec(), "cbor")))
-                                        .with(dto -> dto.setExtra(ConversionUtils.reverse(run.getExtra(), "cbor")))
+                                        .with(dto -> dto.setSpec(ConversionUtils.reverseLazy(run.getSpec(), "blob")))
+                                        .with(dto -> dto.setExtra(ConversionUtils.reverseLazy(run.getExtra(), "blob")))
                                         .with(dto -> dto.setCreated(run.getCreated()))
                                         .with(dto -> dto.setUpdated(run.getUpdated()))
                                         .with(dto -> dto.setState(run.getState() == null
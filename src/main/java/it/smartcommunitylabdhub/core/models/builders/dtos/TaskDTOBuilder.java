@@ -18,8 +18,8 @@ public class TaskDTOBuilder {
                                         .with(dto -> dto.setTask(task.getTask()))
                                         .with(dto -> dto.setProject(task.getProject()))
                                         .with(dto -> dto.setKind(task.getKind()))
-                                        .with(dto -> dto.setSpec(ConversionUtils.reverse(task.getSpec(), "cbor")))
-                                        .with(dto -> dto.setExtra(ConversionUtils.reverse(task.getExtra(), "cbor")))
+                                        .with(dto -> dto.setSpec(ConversionUtils.reverseLazy(task.getSpec(), "blob")))
+                                        .with(dto -> dto.setExtra(ConversionUtils.reverseLazy(task.getExtra(), "blob")))
                                         .with(dto -> dto.setCreated(task.getCreated()))
                                         .with(dto -> dto.setUpdated(task.getUpdated()))
                                         .with(dto -> dto.setState(task.getState() == null
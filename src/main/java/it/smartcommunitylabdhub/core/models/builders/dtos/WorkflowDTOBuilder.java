@@ -22,26 +22,27 @@ public class WorkflowDTOBuilder {
                                         .with(dto -> dto.setKind(workflow.getKind()))
                                         .with(dto -> dto.setProject(workflow.getProject()))
                                         .with(dto -> dto.setName(workflow.getName()))
+                                        .with(dto -> dto.setVersion(workflow.getVersion()))
 
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(workflow.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setSpec(ConversionUtils.reverse(
+                                                                                .setSpec(ConversionUtils.reverseLazy(
                                                                                                 workflow.getSpec(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(workflow.getEmbedded())
                                                                 .filter(embedded -> !condition
                                                                                 || (condition && embedded))
                                                                 .ifPresent(embedded -> dto
-                                                                                .setExtra(ConversionUtils.reverse(
+                                                                                .setExtra(ConversionUtils.reverseLazy(
                                                                                                 workflow.getExtra(),
 
-                                                                                                "cbor")));
+                                                                                                "blob")));
                                         })
                                         .withIfElse(embeddable, (dto, condition) -> {
                                                 Optional.ofNullable(workflow.getEmbedded())
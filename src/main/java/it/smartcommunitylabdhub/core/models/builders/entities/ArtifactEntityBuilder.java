@@ -24,11 +24,11 @@ public class ArtifactEntityBuilder {
                                                         .with(a -> a.setExtra(
                                                                         ConversionUtils.convert(artifactDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setSpec(
                                                                         ConversionUtils.convert(artifactDTO.getSpec(),
 
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return artifact;
@@ -54,11 +54,11 @@ public class ArtifactEntityBuilder {
                                                         .with(a -> a.setExtra(
                                                                         ConversionUtils.convert(artifactDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setSpec(
                                                                         ConversionUtils.convert(artifactDTO.getSpec(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setEmbedded(artifactDTO.getEmbedded()));
                                 });
         }
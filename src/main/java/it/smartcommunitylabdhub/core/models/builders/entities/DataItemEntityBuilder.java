@@ -23,10 +23,10 @@ public class DataItemEntityBuilder {
                                         builder
                                                         .with(a -> a.setExtra(
                                                                         ConversionUtils.convert(dataItemDTO.getExtra(),
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setSpec(
                                                                         ConversionUtils.convert(dataItemDTO.getSpec(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return dataItem;
@@ -51,11 +51,11 @@ public class DataItemEntityBuilder {
                                                         .with(a -> a.setExtra(
                                                                         ConversionUtils.convert(dataItemDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setSpec(
                                                                         ConversionUtils.convert(dataItemDTO.getSpec(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(a -> a.setEmbedded(dataItemDTO.getEmbedded()));
                                 });
         }
@@ -23,10 +23,10 @@ public class FunctionEntityBuilder {
                                         builder
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(functionDTO.getExtra(),
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(functionDTO.getSpec(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return function;
@@ -51,11 +51,11 @@ public class FunctionEntityBuilder {
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(functionDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(functionDTO.getSpec(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setEmbedded(functionDTO.getEmbedded()));
                                 });
         }
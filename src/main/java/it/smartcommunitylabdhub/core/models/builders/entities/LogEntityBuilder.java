@@ -23,10 +23,10 @@ public class LogEntityBuilder {
                                         builder
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(logDTO.getExtra(),
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setBody(
                                                                         ConversionUtils.convert(logDTO.getBody(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return Log;
@@ -45,17 +45,19 @@ public class LogEntityBuilder {
                                         builder
                                                         .with(f -> f.setRun(logDTO.getRun()))
                                                         .with(f -> f.setProject(logDTO.getProject()))
+                                                        .with(f -> f.setStartOffset(logDTO.getStartOffset()))
+                                                        .with(f -> f.setEndOffset(logDTO.getEndOffset()))
                                                         .with(f -> f.setState(logDTO.getState() == null
                                                                         ? State.CREATED
                                                                         : State.valueOf(logDTO.getState())))
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(logDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setBody(
                                                                         ConversionUtils.convert(logDTO.getBody(),
 
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
         }
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ public class ProjectEntityBuilder {
                                 ConversionUtils.convert(projectDTO, "project"), projectDTO, builder -> {
                                         builder.with(p -> p.setExtra(
                                                         ConversionUtils.convert(projectDTO.getExtra(),
-                                                                        "cbor")));
+                                                                        "blob")));
                                 });
 
                 return project;
@@ -45,7 +45,7 @@ public class ProjectEntityBuilder {
                                                                         : State.valueOf(projectDTO.getState())))
                                                         .with(p -> p.setExtra(
                                                                         ConversionUtils.convert(projectDTO.getExtra(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
         }
 }
\ No newline at end of file
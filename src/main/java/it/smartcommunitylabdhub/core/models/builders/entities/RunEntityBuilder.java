@@ -23,10 +23,10 @@ public class RunEntityBuilder {
                                         builder
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(runDTO.getExtra(),
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(runDTO.getSpec(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return Run;
@@ -53,11 +53,11 @@ public class RunEntityBuilder {
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(runDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(runDTO.getSpec(),
 
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
         }
 }
\ No newline at end of file
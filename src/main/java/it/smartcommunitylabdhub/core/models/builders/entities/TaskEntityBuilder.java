@@ -23,10 +23,10 @@ public class TaskEntityBuilder {
                                         builder
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(taskDTO.getExtra(),
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(taskDTO.getSpec(),
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return Task;
@@ -52,11 +52,11 @@ public class TaskEntityBuilder {
                                                         .with(f -> f.setExtra(
                                                                         ConversionUtils.convert(taskDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(f -> f.setSpec(
                                                                         ConversionUtils.convert(taskDTO.getSpec(),
 
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
         }
 }
\ No newline at end of file
@@ -24,11 +24,11 @@ public class WorkflowEntityBuilder {
                                                         .with(w -> w.setExtra(
                                                                         ConversionUtils.convert(workflowDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(w -> w.setSpec(
                                                                         ConversionUtils.convert(workflowDTO.getSpec(),
 
-                                                                                        "cbor")));
+                                                                                        "blob")));
                                 });
 
                 return workflow;
@@ -53,11 +53,11 @@ public class WorkflowEntityBuilder {
                                                         .with(w -> w.setExtra(
                                                                         ConversionUtils.convert(workflowDTO.getExtra(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(w -> w.setSpec(
                                                                         ConversionUtils.convert(workflowDTO.getSpec(),
 
-                                                                                        "cbor")))
+                                                                                        "blob")))
                                                         .with(w -> w.setEmbedded(workflowDTO.getEmbedded()));
                                 });
         }
@@ -1,6 +1,7 @@
 package it.smartcommunitylabdhub.core.models.converters;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,17 @@ public class ConversionUtils {
         return command.execute();
     }
 
+    /**
+     * Reverse an encoded blob on first access, see {@link LazyBlobMap}
+     */
+    public static Map<String, Object> reverseLazy(byte[] source, String kind) {
+        if (source == null || source.length <= 1) {
+            // missing, null or empty blobs, reverse as is
+            return reverse(source, kind);
+        }
+        return new LazyBlobMap(source, kind);
+    }
+
     public static <S, T> Collection<T> convertIterable(Collection<S> source, String kind,
             Class<T> returnType) {
         return source.stream().map(element -> {
@@ -1,7 +1,9 @@
 package it.smartcommunitylabdhub.core.models.converters;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
@@ -12,18 +14,24 @@ import it.smartcommunitylabdhub.core.models.converters.interfaces.ConverterFacto
 @Component
 public class ConverterFactoryImpl implements ConverterFactory {
 
-    private final Map<String, Supplier<Converter<?, ?>>> converterRegistry = new HashMap<>();
+    // Converters are stateless, a single instance per kind is shared by all
+    // conversions
+    private final Map<String, Converter<?, ?>> converterRegistry = new HashMap<>();
 
     public void registerConverter(String kind, Supplier<Converter<?, ?>> converterSupplier) {
-        converterRegistry.put(kind, converterSupplier);
+        converterRegistry.put(kind, converterSupplier.get());
     }
 
     @Override
     public Converter<?, ?> getConverter(String kind) {
-        Supplier<Converter<?, ?>> converterSupplier = converterRegistry.get(kind);
-        if (converterSupplier == null) {
+        Converter<?, ?> converter = converterRegistry.get(kind);
+        if (converter == null) {
             throw new IllegalArgumentException("Unknown kind: " + kind);
         }
-        return converterSupplier.get();
+        return converter;
+    }
+
+    public Set<String> getKinds() {
+        return Collections.unmodifiableSet(converterRegistry.keySet());
     }
 }
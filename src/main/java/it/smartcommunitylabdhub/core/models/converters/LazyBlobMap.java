@@ -0,0 +1,128 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Map view of an encoded blob, decoded with the given converter kind on first
+ * access, eg. when read by a service. Until then only the raw bytes are held:
+ * an untouched map is stored back as is, and cbor blobs are written to json
+ * responses by streaming the stored tokens, see {@link LazyBlobMapSerializer}.
+ *
+ * Not thread safe, as the maps it stands for.
+ */
+@JsonSerialize(using = LazyBlobMapSerializer.class)
+public class LazyBlobMap implements Map<String, Object> {
+
+    private final byte[] bytes;
+    private final String kind;
+    private Map<String, Object> map;
+
+    public LazyBlobMap(byte[] bytes, String kind) {
+        this.bytes = bytes;
+        this.kind = kind;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public boolean isDecoded() {
+        return map != null;
+    }
+
+    public Map<String, Object> getMap() {
+        return map();
+    }
+
+    private Map<String, Object> map() {
+        if (map == null) {
+            Map<String, Object> decoded = ConversionUtils.reverse(bytes, kind);
+            map = decoded == null ? new HashMap<>() : decoded;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map().containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return map().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Object> m) {
+        map().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return map().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return map().values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || map().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map().toString();
+    }
+}
@@ -0,0 +1,40 @@
+package it.smartcommunitylabdhub.core.models.converters;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import it.smartcommunitylabdhub.core.models.converters.types.CBORConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.KryoConverter;
+
+/**
+ * Writes a {@link LazyBlobMap} still holding a cbor blob by copying the cbor
+ * tokens to the generator, so large specs are served without decoding them
+ * into maps. Decoded maps and kryo blobs are written as maps, and so is
+ * every blob when the mapper sorts map entries: copied tokens keep the stored
+ * key order, which would make canonical output, e.g. hashes, depend on it.
+ */
+public class LazyBlobMapSerializer extends StdSerializer<LazyBlobMap> {
+
+    public LazyBlobMapSerializer() {
+        super(LazyBlobMap.class);
+    }
+
+    @Override
+    public void serialize(LazyBlobMap value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!value.isDecoded() && value.getKind().equals("blob") && value.getBytes()[0] != KryoConverter.VERSION
+                && !provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)) {
+            CBORConverter.transcode(value.getBytes(), gen);
+            return;
+        }
+        provider.defaultSerializeValue(value.getMap(), gen);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, LazyBlobMap value) {
+        return value.isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package it.smartcommunitylabdhub.core.models.converters.types;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import it.smartcommunitylabdhub.core.exceptions.CustomException;
+import it.smartcommunitylabdhub.core.models.converters.LazyBlobMap;
+import it.smartcommunitylabdhub.core.models.converters.interfaces.Converter;
+
+/**
+ * Storage codec for the spec, extra and body blobs.
+ *
+ * Blobs are written with the configured codec, cbor or kryo, and read with
+ * the codec they were written with: kryo blobs start with a version byte,
+ * anything else is cbor. Maps holding values kryo does not know are written
+ * as cbor. Lazy maps that were never decoded are stored back as they were
+ * read.
+ */
+public class BlobConverter implements Converter<Map<String, Object>, byte[]> {
+
+    private final CBORConverter cbor = new CBORConverter();
+    private final KryoConverter kryo = new KryoConverter();
+    private final boolean useKryo;
+
+    public BlobConverter(String codec) {
+        switch (codec) {
+            case "cbor":
+                useKryo = false;
+                break;
+            case "kryo":
+                useKryo = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown storage codec: " + codec);
+        }
+    }
+
+    @Override
+    public byte[] convert(Map<String, Object> map) throws CustomException {
+        if (map instanceof LazyBlobMap lazy && !lazy.isDecoded() && lazy.getKind().equals("blob")) {
+            return lazy.getBytes();
+        }
+        if (useKryo) {
+            try {
+                return kryo.convert(map);
+            } catch (CustomException e) {
+                // unregistered value types, fall back to cbor
+            }
+        }
+        return cbor.convert(map);
+    }
+
+    @Override
+    public Map<String, Object> reverseConvert(byte[] bytes) throws CustomException {
+        if (bytes == null) {
+            return new HashMap<>();
+        }
+        if (bytes.length > 0 && bytes[0] == KryoConverter.VERSION) {
+            return kryo.reverseConvert(bytes);
+        }
+        return cbor.reverseConvert(bytes);
+    }
+}
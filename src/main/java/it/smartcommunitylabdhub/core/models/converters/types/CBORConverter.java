@@ -1,8 +1,12 @@
 package it.smartcommunitylabdhub.core.models.converters.types;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 import it.smartcommunitylabdhub.core.exceptions.CustomException;
@@ -17,11 +21,31 @@ import org.springframework.stereotype.Component;
 @Component
 public class CBORConverter implements Converter<Map<String, Object>, byte[]> {
 
+    // Built once, readers and writers are immutable and thread safe, and the
+    // factory recycles its encoding buffers between calls
+    private static final ObjectMapper MAPPER = new ObjectMapper(new CBORFactory());
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectReader READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+
+    /**
+     * Copy a cbor blob to the given generator token by token, without building
+     * the map
+     */
+    public static void transcode(byte[] cborBytes, JsonGenerator generator) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(cborBytes)) {
+            if (parser.nextToken() == null) {
+                generator.writeNull();
+                return;
+            }
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
     @Override
     public byte[] convert(Map<String, Object> map) throws CustomException {
-        ObjectMapper objectMapper = new ObjectMapper(new CBORFactory());
         try {
-            return objectMapper.writeValueAsBytes(map);
+            return WRITER.writeValueAsBytes(map);
         } catch (JsonProcessingException e) {
             throw new CustomException(null, e);
         }
@@ -29,13 +53,11 @@ public class CBORConverter implements Converter<Map<String, Object>, byte[]> {
 
     @Override
     public Map<String, Object> reverseConvert(byte[] cborBytes) throws CustomException {
-        ObjectMapper objectMapper = new ObjectMapper(new CBORFactory());
         try {
             if (cborBytes == null) {
                 return new HashMap<>();
             }
-            return objectMapper.readValue(cborBytes, new TypeReference<Map<String, Object>>() {
-            });
+            return READER.readValue(cborBytes);
         } catch (IOException e) {
             throw new CustomException(null, e);
         }
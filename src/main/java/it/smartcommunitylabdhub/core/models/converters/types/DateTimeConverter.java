@@ -15,13 +15,18 @@ import it.smartcommunitylabdhub.core.models.converters.interfaces.Converter;
 public class DateTimeConverter implements Converter<String, Date> {
 
     // Define the pattern
-    private final String pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX";
+    private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX";
+
+    // Formatters are built once: DateTimeFormatter is thread safe, SimpleDateFormat
+    // is not and is kept per thread
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal
+            .withInitial(() -> new SimpleDateFormat(PATTERN));
 
     @Override
     public Date convert(String input) throws CustomException {
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-        LocalDateTime dateTime = LocalDateTime.parse(input, formatter);
+        LocalDateTime dateTime = LocalDateTime.parse(input, FORMATTER);
 
         // Convert LocalDateTime to Date
         return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
@@ -30,10 +35,8 @@ public class DateTimeConverter implements Converter<String, Date> {
 
     @Override
     public String reverseConvert(Date input) throws CustomException {
-        SimpleDateFormat formatter = new SimpleDateFormat(pattern);
-
         // Format the Date object into a string
-        return formatter.format(input);
+        return DATE_FORMAT.get().format(input);
 
     }
 
@@ -0,0 +1,147 @@
+package it.smartcommunitylabdhub.core.models.converters.types;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CollectionSerializer;
+import com.esotericsoftware.kryo.serializers.MapSerializer;
+import com.esotericsoftware.kryo.util.Pool;
+
+import it.smartcommunitylabdhub.core.exceptions.CustomException;
+import it.smartcommunitylabdhub.core.models.converters.LazyBlobMap;
+import it.smartcommunitylabdhub.core.models.converters.interfaces.Converter;
+
+/**
+ * Kryo binary codec for spec, extra and body maps.
+ *
+ * Every blob starts with the {@link #VERSION} byte, which is never the first
+ * byte of a cbor encoded map, so both formats can live in the same column.
+ * Only the registered classes are accepted, with fixed ids: new classes must
+ * be appended with a new id, changing an existing registration needs a new
+ * format version.
+ */
+@Component
+public class KryoConverter implements Converter<Map<String, Object>, byte[]> {
+
+    public static final byte VERSION = 1;
+
+    // Kryo, Output are not thread safe, instances are pooled and reused
+    private static final Pool<Kryo> KRYO_POOL = new Pool<>(true, false, 32) {
+        @Override
+        protected Kryo create() {
+            return kryo();
+        }
+    };
+
+    private static final Pool<Output> OUTPUT_POOL = new Pool<>(true, false, 32) {
+        @Override
+        protected Output create() {
+            return new Output(4096, -1);
+        }
+    };
+
+    @Override
+    public byte[] convert(Map<String, Object> map) throws CustomException {
+        Kryo kryo = KRYO_POOL.obtain();
+        Output output = OUTPUT_POOL.obtain();
+        try {
+            output.reset();
+            output.writeByte(VERSION);
+            kryo.writeClassAndObject(output, map);
+            return output.toBytes();
+        } catch (KryoException | IllegalArgumentException e) {
+            // unregistered classes are rejected with IllegalArgumentException
+            throw new CustomException(null, e);
+        } finally {
+            KRYO_POOL.free(kryo);
+            OUTPUT_POOL.free(output);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> reverseConvert(byte[] bytes) throws CustomException {
+        if (bytes == null) {
+            return new HashMap<>();
+        }
+        if (bytes.length == 0 || bytes[0] != VERSION) {
+            throw new CustomException("Unsupported kryo format version", null);
+        }
+        Kryo kryo = KRYO_POOL.obtain();
+        try {
+            Map<String, Object> map = (Map<String, Object>) kryo.readClassAndObject(
+                    new Input(bytes, 1, bytes.length - 1));
+            return map == null ? new HashMap<>() : map;
+        } catch (KryoException e) {
+            throw new CustomException(null, e);
+        } finally {
+            KRYO_POOL.free(kryo);
+        }
+    }
+
+    private static Kryo kryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(true);
+        kryo.setReferences(false);
+
+        // Maps are read back as LinkedHashMap, lists as ArrayList, as with cbor
+        MapSerializer<Map<Object, Object>> maps = new MapSerializer<>() {
+            @Override
+            protected Map<Object, Object> create(Kryo kryo, Input input,
+                    Class<? extends Map<Object, Object>> type, int size) {
+                return new LinkedHashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+            }
+        };
+        maps.setKeyClass(String.class);
+        maps.setKeysCanBeNull(false);
+
+        CollectionSerializer<Collection<Object>> lists = new CollectionSerializer<>() {
+            @Override
+            protected Collection<Object> create(Kryo kryo, Input input,
+                    Class<? extends Collection<Object>> type, int size) {
+                return new ArrayList<>(size);
+            }
+        };
+
+        kryo.register(HashMap.class, maps, 20);
+        kryo.register(LinkedHashMap.class, maps, 21);
+        kryo.register(TreeMap.class, maps, 22);
+        kryo.register(Map.of().getClass(), maps, 23);
+        kryo.register(Map.of("", "").getClass(), maps, 24);
+        kryo.register(Collections.emptyMap().getClass(), maps, 25);
+        kryo.register(Collections.singletonMap("", "").getClass(), maps, 26);
+        kryo.register(Collections.unmodifiableMap(new HashMap<>()).getClass(), maps, 27);
+        kryo.register(LazyBlobMap.class, maps, 28);
+
+        kryo.register(ArrayList.class, lists, 40);
+        kryo.register(LinkedList.class, lists, 41);
+        kryo.register(List.of().getClass(), lists, 42);
+        kryo.register(List.of("").getClass(), lists, 43);
+        kryo.register(Arrays.asList().getClass(), lists, 44);
+        kryo.register(Collections.emptyList().getClass(), lists, 45);
+        kryo.register(Collections.singletonList("").getClass(), lists, 46);
+        kryo.register(Collections.unmodifiableList(new ArrayList<>()).getClass(), lists, 47);
+
+        kryo.register(BigInteger.class, 60);
+        kryo.register(BigDecimal.class, 61);
+        kryo.register(byte[].class, 62);
+
+        return kryo;
+    }
+}
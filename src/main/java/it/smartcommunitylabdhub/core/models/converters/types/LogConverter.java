@@ -17,6 +17,8 @@ public class LogConverter implements Converter<LogDTO, Log> {
                 .id(logDTO.getId())
                 .project(logDTO.getProject())
                 .run(logDTO.getRun())
+                .startOffset(logDTO.getStartOffset())
+                .endOffset(logDTO.getEndOffset())
                 .state(logDTO.getState() == null ? State.CREATED : State.valueOf(logDTO.getState()))
                 .build();
     }
@@ -27,6 +29,8 @@ public class LogConverter implements Converter<LogDTO, Log> {
                 .id(log.getId())
                 .project(log.getProject())
                 .run(log.getRun())
+                .startOffset(log.getStartOffset())
+                .endOffset(log.getEndOffset())
                 .state(log.getState() == null ? State.CREATED.name() : log.getState().name())
                 .created(log.getCreated())
                 .updated(log.getUpdated())
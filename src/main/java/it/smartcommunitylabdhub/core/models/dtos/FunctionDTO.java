@@ -28,6 +28,8 @@ public class FunctionDTO implements BaseEntity {
     @ValidateField
     private String name;
     private String kind;
+    // assigned on create, the latest version has the highest number
+    private Long version;
 
     @ValidateField
     private String project;
@@ -35,6 +35,10 @@ public class LogDTO implements BaseEntity {
     @Builder.Default
     private Map<String, Object> body = new HashMap<>();
 
+    private Long startOffset;
+
+    private Long endOffset;
+
     @Builder.Default
     @JsonIgnore
     private Map<String, Object> extra = new HashMap<>();
@@ -8,14 +8,17 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import it.smartcommunitylabdhub.core.models.enums.State;
 import it.smartcommunitylabdhub.core.models.interfaces.BaseEntity;
+import it.smartcommunitylabdhub.core.models.interfaces.Versioned;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -28,8 +31,14 @@ import lombok.Setter;
 @Setter
 @Builder
 @Entity
-@Table(name = "functions")
-public class Function implements BaseEntity {
+@Table(name = "functions", indexes = {
+        @Index(name = "idx_functions_updated", columnList = "updated"),
+        @Index(name = "idx_functions_project_name_created", columnList = "project, name, created"),
+        @Index(name = "idx_functions_project_latest", columnList = "project, latest")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_functions_project_name_version", columnNames = { "project", "name", "version" })
+})
+public class Function implements BaseEntity, Versioned {
 
     @Id
     @Column(unique = true)
@@ -62,6 +71,12 @@ public class Function implements BaseEntity {
     @Enumerated(EnumType.STRING)
     private State state;
 
+    // Version number under the name in the project, the highest one is flagged
+    // as latest
+    private Long version;
+
+    private Boolean latest;
+
     @PrePersist
     public void prePersist() {
         if (id == null) {
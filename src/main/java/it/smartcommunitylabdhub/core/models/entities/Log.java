@@ -44,6 +44,13 @@ public class Log implements BaseEntity {
     @Lob
     private byte[] body;
 
+    // COMMENT: byte range of the chunk in the run log, end excluded
+    @Column(name = "start_offset")
+    private Long startOffset;
+
+    @Column(name = "end_offset")
+    private Long endOffset;
+
     @Lob
     private byte[] extra;
 
@@ -0,0 +1,98 @@
+package it.smartcommunitylabdhub.core.models.entities;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import it.smartcommunitylabdhub.core.models.enums.OutboxStatus;
+import it.smartcommunitylabdhub.core.models.interfaces.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Event stored in the same transaction as the change that produced it, es: the
+ * submission of a run, and delivered later by the outbox dispatcher. An event
+ * is claimed by a dispatcher for a lease, if the dispatcher dies before
+ * completing it the event is delivered again once the lease expires.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "outbox_events_status_idx", columnList = "status, available_at")
+})
+public class OutboxEvent implements BaseEntity {
+
+    @Id
+    @Column(unique = true)
+    private String id;
+
+    // COMMENT: what to deliver, es: run.submit
+    @Column(nullable = false)
+    private String type;
+
+    // COMMENT: {type}:{run id}, the same event is never stored twice
+    @Column(nullable = false, unique = true, name = "idempotency_key")
+    private String idempotencyKey;
+
+    // COMMENT: kind of the publisher delivering the event, es: job
+    @Column(nullable = false)
+    private String kind;
+
+    @Column(nullable = false, name = "run_id")
+    private String runId;
+
+    @Column(nullable = false)
+    private String project;
+
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "available_at")
+    private Date availableAt;
+
+    @Column(name = "claim_token")
+    private String claimToken;
+
+    @Column(name = "claimed_until")
+    private Date claimedUntil;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Date created;
+
+    private Date completed;
+
+    @PrePersist
+    public void prePersist() {
+        if (id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (status == null) {
+            this.status = OutboxStatus.PENDING;
+        }
+        if (availableAt == null) {
+            this.availableAt = new Date();
+        }
+    }
+}
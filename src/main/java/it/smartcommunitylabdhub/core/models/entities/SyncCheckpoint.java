@@ -0,0 +1,50 @@
+package it.smartcommunitylabdhub.core.models.entities;
+
+import java.util.Date;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import it.smartcommunitylabdhub.core.models.interfaces.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of a synchronization with an external service: everything changed
+ * before the watermark has already been synchronized.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "sync_checkpoints")
+public class SyncCheckpoint implements BaseEntity {
+
+    // COMMENT: name of the synchronization, es: mlrun-functions
+    @Id
+    @Column(unique = true)
+    private String id;
+
+    private Date watermark;
+
+    @Column(name = "last_full_sync")
+    private Date lastFullSync;
+
+    // COMMENT: opaque position in the external service, es: last updated seen
+    private String cursor;
+
+    // COMMENT: page to resume from when the last sync stopped before the end
+    @Column(name = "page_token")
+    private String pageToken;
+
+    @UpdateTimestamp
+    private Date updated;
+}
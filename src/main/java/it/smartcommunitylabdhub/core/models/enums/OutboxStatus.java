@@ -0,0 +1,7 @@
+package it.smartcommunitylabdhub.core.models.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
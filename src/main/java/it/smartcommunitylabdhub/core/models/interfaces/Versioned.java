@@ -0,0 +1,20 @@
+package it.smartcommunitylabdhub.core.models.interfaces;
+
+/**
+ * Entities stored in versions under the same name in a project: versions are
+ * numbered from 1 and the highest one is flagged as latest.
+ */
+public interface Versioned {
+
+    String getProject();
+
+    String getName();
+
+    Long getVersion();
+
+    void setVersion(Long version);
+
+    Boolean getLatest();
+
+    void setLatest(Boolean latest);
+}
@@ -6,13 +6,15 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import it.smartcommunitylabdhub.core.models.entities.DataItem;
+import jakarta.persistence.LockModeType;
 
-public interface DataItemRepository extends JpaRepository<DataItem, String> {
+public interface DataItemRepository extends JpaRepository<DataItem, String>, VersionedRepository {
 
         List<DataItem> findByProject(String project);
 
@@ -24,20 +26,18 @@ public interface DataItemRepository extends JpaRepository<DataItem, String> {
 
         Page<DataItem> findAllByProjectAndNameOrderByCreatedDesc(String project, String name, Pageable pageable);
 
-        @Query("SELECT a FROM DataItem a WHERE a.project = :project AND (a.name, a.project, a.created) IN " +
-                        "(SELECT a2.name, a2.project, MAX(a2.created) FROM DataItem a2 WHERE a2.project = :project GROUP BY a2.name, a2.project) "
-                        +
-                        "ORDER BY a.created DESC")
+        @Query("SELECT a FROM DataItem a WHERE a.project = :project AND a.latest = true ORDER BY a.created DESC")
         Page<DataItem> findAllLatestDataItemsByProject(@Param("project") String project, Pageable pageable);
 
         Optional<DataItem> findByProjectAndNameAndId(@Param("project") String project, @Param("name") String name,
                         @Param("id") String id);
 
-        @Query("SELECT a FROM DataItem a WHERE a.project = :project AND a.name = :name " +
-                        "AND a.created = (SELECT MAX(a2.created) FROM DataItem a2 WHERE a2.project = :project AND a2.name = :name)")
+        @Query("SELECT a FROM DataItem a WHERE a.project = :project AND a.name = :name AND a.latest = true")
         Optional<DataItem> findLatestDataItemByProjectAndName(@Param("project") String project,
                         @Param("name") String name);
 
+        Optional<DataItem> findByProjectAndNameAndVersion(String project, String name, Long version);
+
         boolean existsByProjectAndNameAndId(String project, String name, String id);
 
         @Modifying
@@ -55,4 +55,40 @@ public interface DataItemRepository extends JpaRepository<DataItem, String> {
         @Query("DELETE FROM DataItem a WHERE a.project = :project ")
         void deleteByProjectName(@Param("project") String project);
 
+        ////////////////
+        // VERSIONING //
+        ////////////////
+
+        @Override
+        @Query("SELECT COALESCE(MAX(a.version), 0) FROM DataItem a WHERE a.project = :project AND a.name = :name")
+        long findLastVersion(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT a FROM DataItem a WHERE a.project = :project AND a.name = :name AND a.latest = true")
+        List<DataItem> lockLatest(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Modifying
+        @Query("UPDATE DataItem a SET a.latest = false WHERE a.project = :project AND a.name = :name AND a.latest = true")
+        void clearLatest(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Modifying
+        @Query("UPDATE DataItem a SET a.latest = true WHERE a.project = :project AND a.name = :name AND a.version = :version")
+        void markLatest(@Param("project") String project, @Param("name") String name, @Param("version") long version);
+
+        @Override
+        @Query("SELECT a.id, a.project, a.name FROM DataItem a WHERE a.version IS NULL ORDER BY a.project, a.name, a.created")
+        List<Object[]> findUnversioned();
+
+        @Override
+        @Modifying
+        @Query("UPDATE DataItem a SET a.version = :version WHERE a.id = :id")
+        void updateVersion(@Param("id") String id, @Param("version") long version);
+
+        @Override
+        @Modifying
+        @Query("UPDATE DataItem a SET a.version = :offset - a.version WHERE a.project = :project AND a.name = :name AND a.version IS NOT NULL")
+        void negateVersions(@Param("project") String project, @Param("name") String name, @Param("offset") long offset);
 }
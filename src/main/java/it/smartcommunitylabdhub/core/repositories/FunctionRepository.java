@@ -1,51 +1,51 @@
 package it.smartcommunitylabdhub.core.repositories;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import it.smartcommunitylabdhub.core.models.entities.Function;
+import jakarta.persistence.LockModeType;
 
-public interface FunctionRepository extends JpaRepository<Function, String> {
+public interface FunctionRepository extends JpaRepository<Function, String>, VersionedRepository {
 
         List<Function> findByProject(String project);
 
         Page<Function> findAll(Pageable pageable);
 
-        @Query("SELECT a FROM Function a WHERE (a.name, a.created) IN " +
-                        "(SELECT a2.name, MAX(a2.created) FROM Function a2 GROUP BY a2.name) "
-                        +
-                        "ORDER BY a.created DESC")
+        @Query("SELECT a FROM Function a WHERE a.latest = true ORDER BY a.created DESC")
         List<Function> findAllLatestFunctions();
 
+        @Query("SELECT a FROM Function a WHERE a.updated > :since AND a.latest = true ORDER BY a.updated ASC")
+        List<Function> findLatestFunctionsUpdatedSince(@Param("since") Date since);
+
         ////////////////////////////
         // CONTEXT SPECIFIC QUERY //
         ////////////////////////////
 
         Page<Function> findAllByProjectAndNameOrderByCreatedDesc(String project, String name, Pageable pageable);
 
-        @Query("SELECT a FROM Function a WHERE a.project = :project AND (a.name, a.project, a.created) IN " +
-                        "(SELECT a2.name, a2.project, MAX(a2.created) FROM Function a2 WHERE a2.project = :project GROUP BY a2.name, a2.project) "
-                        +
-                        "ORDER BY a.created DESC")
+        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.latest = true ORDER BY a.created DESC")
         Page<Function> findAllLatestFunctionsByProject(@Param("project") String project, Pageable pageable);
 
         Optional<Function> findByProjectAndNameAndId(@Param("project") String project, @Param("name") String name,
                         @Param("id") String id);
 
-        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.name = :name " +
-                        "AND a.created = (SELECT MAX(a2.created) FROM Function a2 WHERE a2.project = :project AND a2.name = :name)")
+        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.name = :name AND a.latest = true")
         Optional<Function> findLatestFunctionByProjectAndName(@Param("project") String project,
                         @Param("name") String name);
 
-        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.id = :id " +
-                        "AND a.created = (SELECT MAX(a2.created) FROM Function a2 WHERE a2.project = :project AND a2.id = :id)")
+        Optional<Function> findByProjectAndNameAndVersion(String project, String name, Long version);
+
+        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.id = :id")
         Optional<Function> findLatestFunctionByProjectAndId(@Param("project") String project,
                         @Param("id") String id);
 
@@ -65,4 +65,41 @@ public interface FunctionRepository extends JpaRepository<Function, String> {
         @Modifying
         @Query("DELETE FROM Function a WHERE a.project = :project ")
         void deleteByProjectName(@Param("project") String project);
+
+        ////////////////
+        // VERSIONING //
+        ////////////////
+
+        @Override
+        @Query("SELECT COALESCE(MAX(a.version), 0) FROM Function a WHERE a.project = :project AND a.name = :name")
+        long findLastVersion(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT a FROM Function a WHERE a.project = :project AND a.name = :name AND a.latest = true")
+        List<Function> lockLatest(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Modifying
+        @Query("UPDATE Function a SET a.latest = false WHERE a.project = :project AND a.name = :name AND a.latest = true")
+        void clearLatest(@Param("project") String project, @Param("name") String name);
+
+        @Override
+        @Modifying
+        @Query("UPDATE Function a SET a.latest = true WHERE a.project = :project AND a.name = :name AND a.version = :version")
+        void markLatest(@Param("project") String project, @Param("name") String name, @Param("version") long version);
+
+        @Override
+        @Query("SELECT a.id, a.project, a.name FROM Function a WHERE a.version IS NULL ORDER BY a.project, a.name, a.created")
+        List<Object[]> findUnversioned();
+
+        @Override
+        @Modifying
+        @Query("UPDATE Function a SET a.version = :version WHERE a.id = :id")
+        void updateVersion(@Param("id") String id, @Param("version") long version);
+
+        @Override
+        @Modifying
+        @Query("UPDATE Function a SET a.version = :offset - a.version WHERE a.project = :project AND a.name = :name AND a.version IS NOT NULL")
+        void negateVersions(@Param("project") String project, @Param("name") String name, @Param("offset") long offset);
 }
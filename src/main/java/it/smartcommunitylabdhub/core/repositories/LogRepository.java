@@ -15,7 +15,19 @@ public interface LogRepository extends JpaRepository<Log, String> {
 
     List<Log> findByRun(String uuid);
 
+    List<Log> findByRunOrderByStartOffset(String uuid);
+
+    boolean existsByRun(String uuid);
+
+    // Offset the next chunk of the run log starts from
+    @Query("SELECT COALESCE(MAX(l.endOffset), 0) FROM Log l WHERE l.run = :run")
+    long findEndOffsetByRun(@Param("run") String run);
+
     @Modifying
     @Query("DELETE FROM Log l WHERE l.project = :project ")
     void deleteByProjectName(@Param("project") String project);
+
+    @Modifying
+    @Query("DELETE FROM Log l WHERE l.run = :run ")
+    void deleteByRun(@Param("run") String run);
 }
@@ -0,0 +1,60 @@
+package it.smartcommunitylabdhub.core.repositories;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import it.smartcommunitylabdhub.core.models.entities.OutboxEvent;
+import it.smartcommunitylabdhub.core.models.enums.OutboxStatus;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, String> {
+
+    long countByStatus(OutboxStatus status);
+
+    List<OutboxEvent> findByClaimToken(String claimToken);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = :status AND e.availableAt <= :now "
+            + "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) ORDER BY e.priority DESC, e.created")
+    List<String> findClaimable(@Param("status") OutboxStatus status, @Param("now") Date now, Pageable pageable);
+
+    // Events claimed by someone else in the meantime are not updated
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimToken = :token, e.claimedUntil = :until "
+            + "WHERE e.id IN :ids AND e.status = :status AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<String> ids, @Param("status") OutboxStatus status,
+            @Param("token") String token, @Param("now") Date now, @Param("until") Date until);
+
+    // Extend the lease of the events still claimed with the token
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :until WHERE e.id IN :ids AND e.claimToken = :token")
+    int renew(@Param("ids") Collection<String> ids, @Param("token") String token, @Param("until") Date until);
+
+    // Only the current owner of the claim can complete the event
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.completed = :now, e.claimToken = NULL, "
+            + "e.claimedUntil = NULL WHERE e.id = :id AND e.claimToken = :token")
+    int complete(@Param("id") String id, @Param("token") String token, @Param("status") OutboxStatus status,
+            @Param("now") Date now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + :attempts, e.availableAt = :availableAt, "
+            + "e.claimToken = NULL, e.claimedUntil = NULL WHERE e.id = :id AND e.claimToken = :token")
+    int release(@Param("id") String id, @Param("token") String token, @Param("attempts") int attempts,
+            @Param("availableAt") Date availableAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.completed < :before")
+    int deleteCompleted(@Param("status") OutboxStatus status, @Param("before") Date before);
+}
@@ -5,8 +5,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
 import it.smartcommunitylabdhub.core.models.entities.Run;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RunRepository extends JpaRepository<Run, String> {
@@ -15,6 +17,8 @@ public interface RunRepository extends JpaRepository<Run, String> {
 
     List<Run> findByTask(String task);
 
+    List<Run> findByStateIn(Collection<RunState> states);
+
     @Modifying
     @Query("DELETE FROM Run r WHERE r.project = :project ")
     void deleteByProjectName(@Param("project") String project);
@@ -0,0 +1,9 @@
+package it.smartcommunitylabdhub.core.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import it.smartcommunitylabdhub.core.models.entities.SyncCheckpoint;
+
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, String> {
+
+}
@@ -0,0 +1,77 @@
+package it.smartcommunitylabdhub.core.repositories;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import it.smartcommunitylabdhub.core.models.interfaces.Versioned;
+import it.smartcommunitylabdhub.core.utils.TransactionLocks;
+
+/**
+ * Keeps the version number and latest flag of {@link Versioned} entities, so
+ * that latest lookups read the flag instead of searching for the last created
+ * version. Must be called in the transaction storing or deleting versions.
+ */
+public interface VersionedRepository {
+
+    long findLastVersion(String project, String name);
+
+    // latest version of the name, locked until the end of the transaction
+    List<? extends Versioned> lockLatest(String project, String name);
+
+    void clearLatest(String project, String name);
+
+    void markLatest(String project, String name, long version);
+
+    // id, project and name of the versions stored before numbering, by creation
+    List<Object[]> findUnversioned();
+
+    void updateVersion(String id, long version);
+
+    // version = offset - version, for every numbered version of the name
+    void negateVersions(String project, String name, long offset);
+
+    /**
+     * Number new versions after the stored ones, in list order, the last one of
+     * each name becomes the latest. Names are locked until the end of the
+     * transaction, concurrent stores of a name are numbered one after the other.
+     */
+    default <T extends Versioned> List<T> assignVersions(List<T> entities) {
+        Map<String, T> names = new TreeMap<>();
+        entities.forEach(entity -> names.putIfAbsent(entity.getProject() + "/" + entity.getName(), entity));
+        TransactionLocks.lock(names.keySet());
+        names.values().forEach(entity -> lockLatest(entity.getProject(), entity.getName()));
+
+        Map<String, T> last = new LinkedHashMap<>();
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (T entity : entities) {
+            String key = entity.getProject() + "/" + entity.getName();
+            Long previous = versions.get(key);
+            if (previous == null) {
+                clearLatest(entity.getProject(), entity.getName());
+                previous = findLastVersion(entity.getProject(), entity.getName());
+            }
+            entity.setVersion(previous + 1);
+            entity.setLatest(false);
+            versions.put(key, previous + 1);
+            last.put(key, entity);
+        }
+        last.values().forEach(entity -> entity.setLatest(true));
+        return entities;
+    }
+
+    default <T extends Versioned> T assignVersion(T entity) {
+        return assignVersions(List.of(entity)).get(0);
+    }
+
+    /**
+     * Flag the last remaining version as latest, after a version is deleted
+     */
+    default void restoreLatest(String project, String name) {
+        long version = findLastVersion(project, name);
+        if (version > 0) {
+            markLatest(project, name, version);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import it.smartcommunitylabdhub.core.models.dtos.ArtifactDTO;
 import it.smartcommunitylabdhub.core.models.entities.Artifact;
 import it.smartcommunitylabdhub.core.repositories.ArtifactRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.ArtifactService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class ArtifactServiceImpl implements ArtifactService {
@@ -48,6 +49,7 @@ public class ArtifactServiceImpl implements ArtifactService {
     }
 
     @Override
+    @Transactional
     public ArtifactDTO createArtifact(ArtifactDTO artifactDTO) {
         if (artifactDTO.getId() != null && artifactRepository.existsById(artifactDTO.getId())) {
             throw new CoreException("DuplicateArtifactId",
@@ -55,6 +57,7 @@ public class ArtifactServiceImpl implements ArtifactService {
         }
         Optional<Artifact> savedArtifact = Optional.ofNullable(artifactDTO)
                 .map(artifactEntityBuilder::build)
+                .map(artifactRepository::assignVersion)
                 .map(this.artifactRepository::save);
 
         return savedArtifact.map(artifact -> artifactDTOBuilder.build(artifact, false))
@@ -112,10 +115,13 @@ public class ArtifactServiceImpl implements ArtifactService {
     }
 
     @Override
+    @Transactional
     public boolean deleteArtifact(String uuid) {
         try {
-            if (this.artifactRepository.existsById(uuid)) {
+            Optional<Artifact> artifact = this.artifactRepository.findById(uuid);
+            if (artifact.isPresent()) {
                 this.artifactRepository.deleteById(uuid);
+                this.artifactRepository.restoreLatest(artifact.get().getProject(), artifact.get().getName());
                 return true;
             }
             throw new CoreException(
@@ -18,6 +18,7 @@ import it.smartcommunitylabdhub.core.models.dtos.DataItemDTO;
 import it.smartcommunitylabdhub.core.models.entities.DataItem;
 import it.smartcommunitylabdhub.core.repositories.DataItemRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.DataItemService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class DataItemServiceImpl implements DataItemService {
@@ -48,6 +49,7 @@ public class DataItemServiceImpl implements DataItemService {
     }
 
     @Override
+    @Transactional
     public DataItemDTO createDataItem(DataItemDTO dataItemDTO) {
         if (dataItemDTO.getId() != null && dataItemRepository.existsById(dataItemDTO.getId())) {
             throw new CoreException("DuplicateDataItemId",
@@ -55,6 +57,7 @@ public class DataItemServiceImpl implements DataItemService {
         }
         Optional<DataItem> savedDataItem = Optional.ofNullable(dataItemDTO)
                 .map(dataItemEntityBuilder::build)
+                .map(dataItemRepository::assignVersion)
                 .map(this.dataItemRepository::save);
 
         return savedDataItem.map(dataItem -> dataItemDTOBuilder.build(dataItem, false))
@@ -112,10 +115,13 @@ public class DataItemServiceImpl implements DataItemService {
     }
 
     @Override
+    @Transactional
     public boolean deleteDataItem(String uuid) {
         try {
-            if (this.dataItemRepository.existsById(uuid)) {
+            Optional<DataItem> dataItem = this.dataItemRepository.findById(uuid);
+            if (dataItem.isPresent()) {
                 this.dataItemRepository.deleteById(uuid);
+                this.dataItemRepository.restoreLatest(dataItem.get().getProject(), dataItem.get().getName());
                 return true;
             }
             throw new CoreException(
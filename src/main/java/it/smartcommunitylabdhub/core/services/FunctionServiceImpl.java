@@ -1,5 +1,6 @@
 package it.smartcommunitylabdhub.core.services;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,6 +24,7 @@ import it.smartcommunitylabdhub.core.models.entities.Run;
 import it.smartcommunitylabdhub.core.repositories.FunctionRepository;
 import it.smartcommunitylabdhub.core.repositories.RunRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.FunctionService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class FunctionServiceImpl implements FunctionService {
@@ -71,6 +73,7 @@ public class FunctionServiceImpl implements FunctionService {
     }
 
     @Override
+    @Transactional
     public FunctionDTO createFunction(FunctionDTO functionDTO) {
         if (functionDTO.getId() != null && functionRepository.existsById(functionDTO.getId())) {
             throw new CoreException("DuplicateFunctionId",
@@ -78,6 +81,7 @@ public class FunctionServiceImpl implements FunctionService {
         }
         Optional<Function> savedFunction = Optional.ofNullable(functionDTO)
                 .map(functionEntityBuilder::build)
+                .map(functionRepository::assignVersion)
                 .map(this.functionRepository::save);
 
         return savedFunction.map(function -> functionDTOBuilder.build(function, false))
@@ -143,10 +147,13 @@ public class FunctionServiceImpl implements FunctionService {
     }
 
     @Override
+    @Transactional
     public boolean deleteFunction(String uuid) {
         try {
-            if (this.functionRepository.existsById(uuid)) {
+            Optional<Function> function = this.functionRepository.findById(uuid);
+            if (function.isPresent()) {
                 this.functionRepository.deleteById(uuid);
+                this.functionRepository.restoreLatest(function.get().getProject(), function.get().getName());
                 return true;
             }
             throw new CoreException(
@@ -200,4 +207,22 @@ public class FunctionServiceImpl implements FunctionService {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    @Override
+    public List<FunctionDTO> getLatestFunctionsUpdatedSince(Date since) {
+        try {
+
+            List<Function> functionList = this.functionRepository.findLatestFunctionsUpdatedSince(since);
+            return functionList
+                    .stream()
+                    .map((function) -> {
+                        return functionDTOBuilder.build(function, false);
+                    }).collect(Collectors.toList());
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
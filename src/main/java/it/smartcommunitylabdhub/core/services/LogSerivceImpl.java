@@ -1,6 +1,13 @@
 package it.smartcommunitylabdhub.core.services;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -9,15 +16,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import it.smartcommunitylabdhub.core.components.logs.LogStore;
+import it.smartcommunitylabdhub.core.components.logs.LogTail;
 import it.smartcommunitylabdhub.core.exceptions.CoreException;
 import it.smartcommunitylabdhub.core.exceptions.CustomException;
 import it.smartcommunitylabdhub.core.models.builders.dtos.LogDTOBuilder;
 import it.smartcommunitylabdhub.core.models.builders.entities.LogEntityBuilder;
 import it.smartcommunitylabdhub.core.models.dtos.LogDTO;
 import it.smartcommunitylabdhub.core.models.entities.Log;
+import it.smartcommunitylabdhub.core.models.enums.State;
 import it.smartcommunitylabdhub.core.repositories.LogRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.LogService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class LogSerivceImpl implements LogService {
@@ -31,12 +45,18 @@ public class LogSerivceImpl implements LogService {
     @Autowired
     LogDTOBuilder logDTOBuilder;
 
+    @Autowired
+    LogStore logStore;
+
+    @Autowired
+    LogTail logTail;
+
     @Override
     public List<LogDTO> getLogs(Pageable pageable) {
         try {
             Page<Log> logPage = this.logRepository.findAll(pageable);
             return logPage.getContent().stream()
-                    .map(log -> logDTOBuilder.build(log))
+                    .map(this::buildWithContent)
                     .collect(Collectors.toList());
 
         } catch (CustomException e) {
@@ -52,7 +72,7 @@ public class LogSerivceImpl implements LogService {
         return logRepository.findById(uuid)
                 .map(log -> {
                     try {
-                        return logDTOBuilder.build(log);
+                        return buildWithContent(log);
                     } catch (CustomException e) {
                         throw new CoreException("InternalServerError", e.getMessage(),
                                 HttpStatus.INTERNAL_SERVER_ERROR);
@@ -63,10 +83,36 @@ public class LogSerivceImpl implements LogService {
 
     }
 
+    /**
+     * Chunks whose content went to the log store have no body, the content is
+     * read back from the store so that chunk clients keep getting it.
+     */
+    private LogDTO buildWithContent(Log log) {
+        LogDTO logDTO = logDTOBuilder.build(log);
+        if (log.getBody() != null || log.getStartOffset() == null || log.getEndOffset() == null) {
+            return logDTO;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            logStore.read(log.getRun(), log.getStartOffset(), log.getEndOffset(), Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new CoreException("InternalServerError", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        logDTO.setBody(new HashMap<>(Map.of("content", out.toString(StandardCharsets.UTF_8))));
+        return logDTO;
+    }
+
     @Override
+    @Transactional
     public boolean deleteLog(String uuid) {
         try {
+            Optional<Log> log = this.logRepository.findById(uuid);
             this.logRepository.deleteById(uuid);
+
+            // The content of a run log is stored as a whole, it goes with its last chunk
+            log.map(Log::getRun)
+                    .filter(run -> !this.logRepository.existsByRun(run))
+                    .ifPresent(run -> afterCommit(() -> deleteContent(run)));
             return true;
         } catch (Exception e) {
             throw new CoreException(
@@ -76,6 +122,37 @@ public class LogSerivceImpl implements LogService {
         }
     }
 
+    @Override
+    @Transactional
+    public void deleteRunLog(String runUuid) {
+        this.logRepository.deleteByRun(runUuid);
+
+        // Content is removed once the chunks are gone for good
+        afterCommit(() -> deleteContent(runUuid));
+    }
+
+    private void deleteContent(String runUuid) {
+        logTail.complete(runUuid);
+        try {
+            logStore.delete(runUuid);
+        } catch (IOException e) {
+            System.out.println("Cannot delete log of run " + runUuid + ": " + e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
     @Override
     public LogDTO createLog(LogDTO logDTO) {
         if (logDTO.getId() != null && logRepository.existsById(logDTO.getId())) {
@@ -95,11 +172,11 @@ public class LogSerivceImpl implements LogService {
 
     @Override
     public List<LogDTO> getLogsByRunUuid(String uuid) {
-        return logRepository.findByRun(uuid)
+        return logRepository.findByRunOrderByStartOffset(uuid)
                 .stream()
                 .map(log -> {
                     try {
-                        return logDTOBuilder.build(log);
+                        return buildWithContent(log);
                     } catch (CustomException e) {
                         throw new CoreException("InternalServerError", e.getMessage(),
                                 HttpStatus.INTERNAL_SERVER_ERROR);
@@ -107,4 +184,59 @@ public class LogSerivceImpl implements LogService {
                 }).collect(Collectors.toList());
     }
 
+    @Override
+    public long getLogEndOffset(String runUuid) {
+        return logRepository.findEndOffsetByRun(runUuid);
+    }
+
+    @Override
+    public LogDTO appendLog(String project, String runUuid, long offset, byte[] data, int length) {
+        // The log keeps the chunk metadata, the content goes to the log store
+        Log log = Log.builder()
+                .project(project)
+                .run(runUuid)
+                .startOffset(offset)
+                .endOffset(offset + length)
+                .state(State.CREATED)
+                .build();
+        try {
+            logStore.append(log, data, length);
+        } catch (IOException e) {
+            throw new CoreException("InternalServerError", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        LogDTO logDTO = logDTOBuilder.build(logRepository.save(log));
+
+        // Push the chunk to the clients following the run
+        logTail.publish(runUuid, offset, data, length);
+        return logDTO;
+    }
+
+    @Override
+    public void closeLog(String runUuid) {
+        logStore.close(runUuid);
+    }
+
+    @Override
+    public long readLog(String runUuid, long offset, long length, OutputStream out) {
+        try {
+            return logStore.read(runUuid, offset, offset + length, Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new CoreException("InternalServerError", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public SseEmitter followLog(String runUuid, long offset) {
+        return logTail.follow(runUuid, offset);
+    }
+
+    @Override
+    public long readLogLines(String runUuid, long line, long lines, OutputStream out) {
+        try {
+            return logStore.readLines(runUuid, line, lines, Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new CoreException("InternalServerError", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 }
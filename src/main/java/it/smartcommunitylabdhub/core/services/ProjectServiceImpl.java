@@ -33,6 +33,7 @@ import it.smartcommunitylabdhub.core.repositories.ProjectRepository;
 import it.smartcommunitylabdhub.core.repositories.RunRepository;
 import it.smartcommunitylabdhub.core.repositories.TaskRepository;
 import it.smartcommunitylabdhub.core.repositories.WorkflowRepository;
+import it.smartcommunitylabdhub.core.services.interfaces.LogService;
 import it.smartcommunitylabdhub.core.services.interfaces.ProjectService;
 import jakarta.transaction.Transactional;
 
@@ -59,6 +60,9 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     RunRepository runRepository;
 
+    @Autowired
+    LogService logService;
+
     @Autowired
     TaskRepository taskRepository;
 
@@ -178,6 +182,8 @@ public class ProjectServiceImpl implements ProjectService {
                             this.dataItemRepository.deleteByProjectName(project.getName());
                             this.workflowRepository.deleteByProjectName(project.getName());
                             this.functionRepository.deleteByProjectName(project.getName());
+                            this.runRepository.findByProject(project.getName())
+                                    .forEach(run -> this.logService.deleteRunLog(run.getId()));
                             this.logRepository.deleteByProjectName(project.getName());
                             this.runRepository.deleteByProjectName(project.getName());
                             this.taskRepository.deleteByProjectName(project.getName());
@@ -191,6 +197,8 @@ public class ProjectServiceImpl implements ProjectService {
                             this.dataItemRepository.deleteByProjectName(project.getName());
                             this.workflowRepository.deleteByProjectName(project.getName());
                             this.functionRepository.deleteByProjectName(project.getName());
+                            this.runRepository.findByProject(project.getName())
+                                    .forEach(run -> this.logService.deleteRunLog(run.getId()));
                             this.logRepository.deleteByProjectName(project.getName());
                             this.runRepository.deleteByProjectName(project.getName());
                             this.taskRepository.deleteByProjectName(project.getName());
@@ -1,16 +1,23 @@
 package it.smartcommunitylabdhub.core.services;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
 import it.smartcommunitylabdhub.core.components.kinds.factory.builders.KindBuilderFactory;
 import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisherFactory;
+import it.smartcommunitylabdhub.core.components.outbox.OutboxDispatcher;
 import it.smartcommunitylabdhub.core.exceptions.CoreException;
 import it.smartcommunitylabdhub.core.exceptions.CustomException;
 import it.smartcommunitylabdhub.core.models.accessors.utils.TaskAccessor;
@@ -18,11 +25,16 @@ import it.smartcommunitylabdhub.core.models.accessors.utils.TaskUtils;
 import it.smartcommunitylabdhub.core.models.builders.dtos.RunDTOBuilder;
 import it.smartcommunitylabdhub.core.models.builders.entities.RunEntityBuilder;
 import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.models.dtos.TaskDTO;
 import it.smartcommunitylabdhub.core.models.dtos.custom.RunExecDTO;
 import it.smartcommunitylabdhub.core.models.entities.Run;
+import it.smartcommunitylabdhub.core.models.enums.OutboxStatus;
+import it.smartcommunitylabdhub.core.repositories.OutboxEventRepository;
 import it.smartcommunitylabdhub.core.repositories.RunRepository;
+import it.smartcommunitylabdhub.core.services.interfaces.LogService;
 import it.smartcommunitylabdhub.core.services.interfaces.RunService;
 import it.smartcommunitylabdhub.core.services.interfaces.TaskService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class RunSerivceImpl implements RunService {
@@ -36,6 +48,9 @@ public class RunSerivceImpl implements RunService {
     @Autowired
     TaskService taskService;
 
+    @Autowired
+    LogService logService;
+
     @Autowired
     KindBuilderFactory runBuilderFactory;
 
@@ -45,6 +60,15 @@ public class RunSerivceImpl implements RunService {
     @Autowired
     RunEntityBuilder runEntityBuilder;
 
+    @Autowired
+    RunAdmission runAdmission;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    OutboxDispatcher outboxDispatcher;
+
     @Override
     public List<RunDTO> getRuns(Pageable pageable) {
         try {
@@ -75,6 +99,7 @@ public class RunSerivceImpl implements RunService {
     public boolean deleteRun(String uuid) {
         try {
             this.runRepository.deleteById(uuid);
+            this.logService.deleteRunLog(uuid);
             return true;
         } catch (Exception e) {
             throw new CoreException(
@@ -96,8 +121,11 @@ public class RunSerivceImpl implements RunService {
     }
 
     @Override
+    @Transactional
     public RunDTO createRun(RunExecDTO runExecDTO) {
 
+        checkCapacity(1);
+
         return Optional.ofNullable(this.taskService.getTask(runExecDTO.getTaskId()))
                 .map(taskDTO -> {
 
@@ -118,12 +146,12 @@ public class RunSerivceImpl implements RunService {
                     // save run
                     Run run = runRepository.save(runEntityBuilder.build(runDTO));
 
-                    // exec run and return run dto
+                    // queue run for execution and return run dto
                     return Optional.ofNullable(runDTOBuilder.build(run)).map(
                             r -> {
                                 // // Override all spec
                                 // r.getSpec().putAll(runExecDTO.getSpec());
-                                runPublisherFactory.getPublisher(taskAccessor.getKind()).publish(r);
+                                enqueue(List.of(r), kind -> taskAccessor.getKind());
                                 return r;
                             }).orElseThrow(() -> new CoreException(
                                     "",
@@ -135,4 +163,93 @@ public class RunSerivceImpl implements RunService {
                         HttpStatus.NOT_FOUND));
 
     }
+
+    @Override
+    @Transactional
+    public List<RunDTO> createRuns(List<RunExecDTO> runExecDTOs) {
+
+        checkCapacity(runExecDTOs.size());
+
+        // Resolve every task, and through its kind builder its function, only once
+        Map<String, TaskAccessor> taskAccessors = new HashMap<>();
+        Map<String, RunDTO> templates = new HashMap<>();
+        runExecDTOs.stream().map(RunExecDTO::getTaskId).distinct().forEach(taskId -> {
+            TaskDTO taskDTO = Optional.ofNullable(this.taskService.getTask(taskId))
+                    .orElseThrow(() -> new CoreException(
+                            "TaskNotFound",
+                            "The task you are searching for does not exist.",
+                            HttpStatus.NOT_FOUND));
+
+            // parse task to get accessor
+            TaskAccessor taskAccessor = TaskUtils.parseTask(taskDTO.getTask());
+            taskAccessors.put(taskId, taskAccessor);
+
+            // build the run shared by all the runs of the task
+            templates.put(taskId, (RunDTO) runBuilderFactory.getBuilder(taskAccessor.getKind())
+                    .build(taskDTO));
+        });
+
+        List<Run> runs = runExecDTOs.stream().map(runExecDTO -> {
+            RunDTO template = templates.get(runExecDTO.getTaskId());
+            RunDTO runDTO = RunDTO.builder()
+                    .kind(template.getKind())
+                    .taskId(template.getTaskId())
+                    .project(template.getProject())
+                    .task(template.getTask())
+                    .spec(new HashMap<>(template.getSpec()))
+                    .extra(new HashMap<>(template.getExtra()))
+                    .build();
+
+            // if extra field contained override if field in dto is present otherwise put in
+            // extra runDTO
+            runExecDTO.overrideFields(runDTO);
+
+            // Add also run spec
+            runDTO.getSpec().putAll(runExecDTO.getSpec());
+
+            return runEntityBuilder.build(runDTO);
+        }).toList();
+
+        // save all runs in a single transaction, inserts are sent in jdbc batches
+        List<RunDTO> runDTOs = runRepository.saveAll(runs).stream()
+                .map(run -> runDTOBuilder.build(run))
+                .toList();
+
+        // queue runs for execution together with the runs
+        enqueue(runDTOs, runDTO -> taskAccessors.get(runDTO.getTaskId()).getKind());
+
+        return runDTOs;
+    }
+
+    // Reject runs while the runs waiting for admission exceed its queue
+    private void checkCapacity(int runs) {
+        runAdmission.checkCapacity(outboxEventRepository.countByStatus(OutboxStatus.PENDING), runs);
+    }
+
+    /**
+     * Store the submission of the runs in the outbox, in the transaction that
+     * stores the runs, the outbox dispatcher publishes them once committed. A
+     * run is submitted even if the node stops before its dispatch.
+     */
+    private void enqueue(List<RunDTO> runDTOs, Function<RunDTO, String> kind) {
+        outboxEventRepository.saveAll(runDTOs.stream()
+                .map(runDTO -> OutboxDispatcher.runSubmit(runDTO, kind.apply(runDTO), priority(runDTO)))
+                .toList());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            outboxDispatcher.wakeUp();
+        }
+    }
+
+    // Runs can be submitted with an extra priority field, higher runs first
+    private static int priority(RunDTO runDTO) {
+        return runDTO.getExtra().get("priority") instanceof Number priority ? priority.intValue() : 0;
+    }
 }
@@ -23,6 +23,7 @@ import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
 import it.smartcommunitylabdhub.core.repositories.WorkflowRepository;
 import it.smartcommunitylabdhub.core.repositories.RunRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.WorkflowService;
+import jakarta.transaction.Transactional;
 
 @Service
 public class WorkflowServiceImpl implements WorkflowService {
@@ -56,6 +57,7 @@ public class WorkflowServiceImpl implements WorkflowService {
     }
 
     @Override
+    @Transactional
     public WorkflowDTO createWorkflow(WorkflowDTO workflowDTO) {
         if (workflowDTO.getId() != null && workflowRepository.existsById(workflowDTO.getId())) {
             throw new CoreException("DuplicateWorkflowId",
@@ -63,6 +65,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
         Optional<Workflow> savedWorkflow = Optional.ofNullable(workflowDTO)
                 .map(workflowEntityBuilder::build)
+                .map(workflowRepository::assignVersion)
                 .map(this.workflowRepository::save);
 
         return savedWorkflow.map(workflow -> workflowDTOBuilder.build(workflow, false))
@@ -120,10 +123,13 @@ public class WorkflowServiceImpl implements WorkflowService {
     }
 
     @Override
+    @Transactional
     public boolean deleteWorkflow(String uuid) {
         try {
-            if (this.workflowRepository.existsById(uuid)) {
+            Optional<Workflow> workflow = this.workflowRepository.findById(uuid);
+            if (workflow.isPresent()) {
                 this.workflowRepository.deleteById(uuid);
+                this.workflowRepository.restoreLatest(workflow.get().getProject(), workflow.get().getName());
                 return true;
             }
             throw new CoreException(
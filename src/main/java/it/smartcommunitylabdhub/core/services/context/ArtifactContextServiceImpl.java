@@ -1,7 +1,10 @@
 package it.smartcommunitylabdhub.core.services.context;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +36,7 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
     ArtifactDTOBuilder artifactDTOBuilder;
 
     @Override
+    @Transactional
     public ArtifactDTO createArtifact(String projectName, ArtifactDTO artifactDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -55,7 +59,7 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
                     .orElseGet(() -> {
                         // Build an artifact and store it in the database
                         Artifact newArtifact = artifactEntityBuilder.build(artifactDTO);
-                        return artifactRepository.save(newArtifact);
+                        return artifactRepository.save(artifactRepository.assignVersion(newArtifact));
                     });
 
             // Return artifact DTO
@@ -153,6 +157,27 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
     }
 
     @Override
+    public ArtifactDTO getByProjectNameAndArtifactNameAndVersion(String projectName, String artifactName,
+            Long version) {
+        try {
+            // Check project context
+            checkContext(projectName);
+
+            return this.artifactRepository.findByProjectAndNameAndVersion(projectName, artifactName, version).map(
+                    artifact -> artifactDTOBuilder.build(artifact, false))
+                    .orElseThrow(
+                            () -> new CustomException("The artifact version does not exist.", null));
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    @Transactional
     public ArtifactDTO createOrUpdateArtifact(String projectName, String artifactName, ArtifactDTO artifactDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -185,13 +210,13 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
                         } else {
                             // Build a new artifact and store it in the database
                             Artifact newArtifact = artifactEntityBuilder.build(artifactDTO);
-                            return Optional.of(artifactRepository.save(newArtifact));
+                            return Optional.of(artifactRepository.save(artifactRepository.assignVersion(newArtifact)));
                         }
                     })
                     .orElseGet(() -> {
                         // Build a new artifact and store it in the database
                         Artifact newArtifact = artifactEntityBuilder.build(artifactDTO);
-                        return artifactRepository.save(newArtifact);
+                        return artifactRepository.save(artifactRepository.assignVersion(newArtifact));
                     });
 
             // Return artifact DTO
@@ -205,6 +230,54 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
         }
     }
 
+    @Override
+    @Transactional
+    public List<ArtifactDTO> createOrUpdateArtifacts(String projectName, List<ArtifactDTO> artifactDTOs) {
+        try {
+            // Check that project context is the same as the project passed to every
+            // artifactDTO
+            if (artifactDTOs.stream().anyMatch(artifactDTO -> !projectName.equals(artifactDTO.getProject()))) {
+                throw new CustomException("Project Context and Artifact Project does not match.", null);
+            }
+
+            // Check project context
+            checkContext(projectName);
+
+            // Load the existing versions with a single query
+            Map<String, Artifact> existingArtifacts = artifactRepository.findAllById(
+                    artifactDTOs.stream()
+                            .map(ArtifactDTO::getId)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Artifact::getId, Function.identity()));
+
+            // Update the existing versions, build the new ones and store all of them
+            List<Artifact> artifacts = artifactDTOs.stream()
+                    .map(artifactDTO -> Optional.ofNullable(artifactDTO.getId())
+                            .map(existingArtifacts::get)
+                            .map(artifact -> artifactEntityBuilder.update(artifact, artifactDTO))
+                            .orElseGet(() -> artifactEntityBuilder.build(artifactDTO)))
+                    .toList();
+
+            // Number the new versions
+            artifactRepository.assignVersions(artifacts.stream()
+                    .filter(artifact -> artifact.getVersion() == null)
+                    .toList());
+
+            return artifactRepository.saveAll(artifacts)
+                    .stream()
+                    .map(artifact -> artifactDTOBuilder.build(artifact, false))
+                    .collect(Collectors.toList());
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Override
     public ArtifactDTO updateArtifact(String projectName, String artifactName, String uuid, ArtifactDTO artifactDTO) {
 
@@ -246,6 +319,7 @@ public class ArtifactContextServiceImpl extends ContextService implements Artifa
         try {
             if (this.artifactRepository.existsByProjectAndNameAndId(projectName, artifactName, uuid)) {
                 this.artifactRepository.deleteByProjectAndNameAndId(projectName, artifactName, uuid);
+                this.artifactRepository.restoreLatest(projectName, artifactName);
                 return true;
             }
             throw new CoreException(
@@ -1,7 +1,10 @@
 package it.smartcommunitylabdhub.core.services.context;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +36,7 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
     DataItemEntityBuilder dataItemEntityBuilder;
 
     @Override
+    @Transactional
     public DataItemDTO createDataItem(String projectName, DataItemDTO dataItemDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -55,7 +59,7 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
                     .orElseGet(() -> {
                         // Build an dataItem and store it in the database
                         DataItem newDataItem = dataItemEntityBuilder.build(dataItemDTO);
-                        return dataItemRepository.save(newDataItem);
+                        return dataItemRepository.save(dataItemRepository.assignVersion(newDataItem));
                     });
 
             // Return dataItem DTO
@@ -153,6 +157,27 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
     }
 
     @Override
+    public DataItemDTO getByProjectNameAndDataItemNameAndVersion(String projectName, String dataItemName,
+            Long version) {
+        try {
+            // Check project context
+            checkContext(projectName);
+
+            return this.dataItemRepository.findByProjectAndNameAndVersion(projectName, dataItemName, version).map(
+                    dataItem -> dataItemDTOBuilder.build(dataItem, false))
+                    .orElseThrow(
+                            () -> new CustomException("The dataItem does not exist.", null));
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    @Transactional
     public DataItemDTO createOrUpdateDataItem(String projectName, String dataItemName, DataItemDTO dataItemDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -185,13 +210,13 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
                         } else {
                             // Build a new dataItem and store it in the database
                             DataItem newDataItem = dataItemEntityBuilder.build(dataItemDTO);
-                            return Optional.of(dataItemRepository.save(newDataItem));
+                            return Optional.of(dataItemRepository.save(dataItemRepository.assignVersion(newDataItem)));
                         }
                     })
                     .orElseGet(() -> {
                         // Build a new dataItem and store it in the database
                         DataItem newDataItem = dataItemEntityBuilder.build(dataItemDTO);
-                        return dataItemRepository.save(newDataItem);
+                        return dataItemRepository.save(dataItemRepository.assignVersion(newDataItem));
                     });
 
             // Return dataItem DTO
@@ -205,6 +230,54 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
         }
     }
 
+    @Override
+    @Transactional
+    public List<DataItemDTO> createOrUpdateDataItems(String projectName, List<DataItemDTO> dataItemDTOs) {
+        try {
+            // Check that project context is the same as the project passed to every
+            // dataItemDTO
+            if (dataItemDTOs.stream().anyMatch(dataItemDTO -> !projectName.equals(dataItemDTO.getProject()))) {
+                throw new CustomException("Project Context and DataItem Project does not match.", null);
+            }
+
+            // Check project context
+            checkContext(projectName);
+
+            // Load the existing versions with a single query
+            Map<String, DataItem> existingDataItems = dataItemRepository.findAllById(
+                    dataItemDTOs.stream()
+                            .map(DataItemDTO::getId)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(DataItem::getId, Function.identity()));
+
+            // Update the existing versions, build the new ones and store all of them
+            List<DataItem> dataItems = dataItemDTOs.stream()
+                    .map(dataItemDTO -> Optional.ofNullable(dataItemDTO.getId())
+                            .map(existingDataItems::get)
+                            .map(dataItem -> dataItemEntityBuilder.update(dataItem, dataItemDTO))
+                            .orElseGet(() -> dataItemEntityBuilder.build(dataItemDTO)))
+                    .toList();
+
+            // Number the new versions
+            dataItemRepository.assignVersions(dataItems.stream()
+                    .filter(dataItem -> dataItem.getVersion() == null)
+                    .toList());
+
+            return dataItemRepository.saveAll(dataItems)
+                    .stream()
+                    .map(dataItem -> dataItemDTOBuilder.build(dataItem, false))
+                    .collect(Collectors.toList());
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Override
     public DataItemDTO updateDataItem(String projectName, String dataItemName, String uuid, DataItemDTO dataItemDTO) {
 
@@ -246,6 +319,7 @@ public class DataItemContextServiceImpl extends ContextService implements DataIt
         try {
             if (this.dataItemRepository.existsByProjectAndNameAndId(projectName, dataItemName, uuid)) {
                 this.dataItemRepository.deleteByProjectAndNameAndId(projectName, dataItemName, uuid);
+                this.dataItemRepository.restoreLatest(projectName, dataItemName);
                 return true;
             }
             throw new CoreException(
@@ -33,6 +33,7 @@ public class FunctionContextServiceImpl extends ContextService implements Functi
     FunctionEntityBuilder functionEntityBuilder;
 
     @Override
+    @Transactional
     public FunctionDTO createFunction(String projectName, FunctionDTO functionDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -55,7 +56,7 @@ public class FunctionContextServiceImpl extends ContextService implements Functi
                     .orElseGet(() -> {
                         // Build an function and store it in the database
                         Function newFunction = functionEntityBuilder.build(functionDTO);
-                        return functionRepository.save(newFunction);
+                        return functionRepository.save(functionRepository.assignVersion(newFunction));
                     });
 
             // Return function DTO
@@ -153,6 +154,27 @@ public class FunctionContextServiceImpl extends ContextService implements Functi
     }
 
     @Override
+    public FunctionDTO getByProjectNameAndFunctionNameAndVersion(String projectName, String functionName,
+            Long version) {
+        try {
+            // Check project context
+            checkContext(projectName);
+
+            return this.functionRepository.findByProjectAndNameAndVersion(projectName, functionName, version).map(
+                    function -> functionDTOBuilder.build(function, false))
+                    .orElseThrow(
+                            () -> new CustomException("The function version does not exist.", null));
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    @Transactional
     public FunctionDTO createOrUpdateFunction(String projectName, String functionName, FunctionDTO functionDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -185,13 +207,13 @@ public class FunctionContextServiceImpl extends ContextService implements Functi
                         } else {
                             // Build a new function and store it in the database
                             Function newFunction = functionEntityBuilder.build(functionDTO);
-                            return Optional.of(functionRepository.save(newFunction));
+                            return Optional.of(functionRepository.save(functionRepository.assignVersion(newFunction)));
                         }
                     })
                     .orElseGet(() -> {
                         // Build a new function and store it in the database
                         Function newFunction = functionEntityBuilder.build(functionDTO);
-                        return functionRepository.save(newFunction);
+                        return functionRepository.save(functionRepository.assignVersion(newFunction));
                     });
 
             // Return function DTO
@@ -246,6 +268,7 @@ public class FunctionContextServiceImpl extends ContextService implements Functi
         try {
             if (this.functionRepository.existsByProjectAndNameAndId(projectName, functionName, uuid)) {
                 this.functionRepository.deleteByProjectAndNameAndId(projectName, functionName, uuid);
+                this.functionRepository.restoreLatest(projectName, functionName);
                 return true;
             }
             throw new CoreException(
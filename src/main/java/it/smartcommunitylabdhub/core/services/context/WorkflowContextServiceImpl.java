@@ -33,6 +33,7 @@ public class WorkflowContextServiceImpl extends ContextService implements Workfl
     WorkflowDTOBuilder workflowDTOBuilder;
 
     @Override
+    @Transactional
     public WorkflowDTO createWorkflow(String projectName, WorkflowDTO workflowDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -55,7 +56,7 @@ public class WorkflowContextServiceImpl extends ContextService implements Workfl
                     .orElseGet(() -> {
                         // Build an workflow and store it in the database
                         Workflow newWorkflow = workflowEntityBuilder.build(workflowDTO);
-                        return workflowRepository.save(newWorkflow);
+                        return workflowRepository.save(workflowRepository.assignVersion(newWorkflow));
                     });
 
             // Return workflow DTO
@@ -153,6 +154,27 @@ public class WorkflowContextServiceImpl extends ContextService implements Workfl
     }
 
     @Override
+    public WorkflowDTO getByProjectNameAndWorkflowNameAndVersion(String projectName, String workflowName,
+            Long version) {
+        try {
+            // Check project context
+            checkContext(projectName);
+
+            return this.workflowRepository.findByProjectAndNameAndVersion(projectName, workflowName, version).map(
+                    workflow -> workflowDTOBuilder.build(workflow, false))
+                    .orElseThrow(
+                            () -> new CustomException("The workflow version does not exist.", null));
+
+        } catch (CustomException e) {
+            throw new CoreException(
+                    "InternalServerError",
+                    e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    @Transactional
     public WorkflowDTO createOrUpdateWorkflow(String projectName, String workflowName, WorkflowDTO workflowDTO) {
         try {
             // Check that project context is the same as the project passed to the
@@ -185,13 +207,13 @@ public class WorkflowContextServiceImpl extends ContextService implements Workfl
                         } else {
                             // Build a new workflow and store it in the database
                             Workflow newWorkflow = workflowEntityBuilder.build(workflowDTO);
-                            return Optional.of(workflowRepository.save(newWorkflow));
+                            return Optional.of(workflowRepository.save(workflowRepository.assignVersion(newWorkflow)));
                         }
                     })
                     .orElseGet(() -> {
                         // Build a new workflow and store it in the database
                         Workflow newWorkflow = workflowEntityBuilder.build(workflowDTO);
-                        return workflowRepository.save(newWorkflow);
+                        return workflowRepository.save(workflowRepository.assignVersion(newWorkflow));
                     });
 
             // Return workflow DTO
@@ -246,6 +268,7 @@ public class WorkflowContextServiceImpl extends ContextService implements Workfl
         try {
             if (this.workflowRepository.existsByProjectAndNameAndId(projectName, workflowName, uuid)) {
                 this.workflowRepository.deleteByProjectAndNameAndId(projectName, workflowName, uuid);
+                this.workflowRepository.restoreLatest(projectName, workflowName);
                 return true;
             }
             throw new CoreException(
@@ -22,8 +22,13 @@ public interface ArtifactContextService {
         ArtifactDTO getLatestByProjectNameAndArtifactName(
                         String projectName, String artifactName);
 
+        ArtifactDTO getByProjectNameAndArtifactNameAndVersion(
+                        String projectName, String artifactName, Long version);
+
         ArtifactDTO createOrUpdateArtifact(String projectName, String artifactName, ArtifactDTO artifactDTO);
 
+        List<ArtifactDTO> createOrUpdateArtifacts(String projectName, List<ArtifactDTO> artifactDTOs);
+
         ArtifactDTO updateArtifact(String projectName, String artifactName, String uuid, ArtifactDTO artifactDTO);
 
         Boolean deleteSpecificArtifactVersion(String projectName, String artifactName, String uuid);
@@ -22,8 +22,13 @@ public interface DataItemContextService {
         DataItemDTO getLatestByProjectNameAndDataItemName(
                         String projectName, String dataItemName);
 
+        DataItemDTO getByProjectNameAndDataItemNameAndVersion(
+                        String projectName, String dataItemName, Long version);
+
         DataItemDTO createOrUpdateDataItem(String projectName, String dataItemName, DataItemDTO dataItemDTO);
 
+        List<DataItemDTO> createOrUpdateDataItems(String projectName, List<DataItemDTO> dataItemDTOs);
+
         DataItemDTO updateDataItem(String projectName, String dataItemName, String uuid, DataItemDTO dataItemDTO);
 
         Boolean deleteSpecificDataItemVersion(String projectName, String dataItemName, String uuid);
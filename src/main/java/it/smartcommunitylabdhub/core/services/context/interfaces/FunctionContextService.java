@@ -22,6 +22,9 @@ public interface FunctionContextService {
         FunctionDTO getLatestByProjectNameAndFunctionName(
                         String projectName, String functionName);
 
+        FunctionDTO getByProjectNameAndFunctionNameAndVersion(
+                        String projectName, String functionName, Long version);
+
         FunctionDTO createOrUpdateFunction(String projectName, String functionName, FunctionDTO functionDTO);
 
         FunctionDTO updateFunction(String projectName, String functionName, String uuid, FunctionDTO functionDTO);
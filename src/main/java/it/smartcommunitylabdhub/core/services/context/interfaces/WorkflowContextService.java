@@ -22,6 +22,9 @@ public interface WorkflowContextService {
         WorkflowDTO getLatestByProjectNameAndWorkflowName(
                         String projectName, String workflowName);
 
+        WorkflowDTO getByProjectNameAndWorkflowNameAndVersion(
+                        String projectName, String workflowName, Long version);
+
         WorkflowDTO createOrUpdateWorkflow(String projectName, String workflowName, WorkflowDTO workflowDTO);
 
         WorkflowDTO updateWorkflow(String projectName, String workflowName, String uuid, WorkflowDTO workflowDTO);
@@ -3,6 +3,7 @@ package it.smartcommunitylabdhub.core.services.interfaces;
 import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
 import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
@@ -23,4 +24,9 @@ public interface FunctionService {
     List<RunDTO> getFunctionRuns(String uuid);
 
     List<FunctionDTO> getAllLatestFunctions();
+
+    /**
+     * Latest version of the functions updated after the given date.
+     */
+    List<FunctionDTO> getLatestFunctionsUpdatedSince(Date since);
 }
@@ -1,8 +1,10 @@
 package it.smartcommunitylabdhub.core.services.interfaces;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import it.smartcommunitylabdhub.core.models.dtos.LogDTO;
 
@@ -14,8 +16,22 @@ public interface LogService {
 
     List<LogDTO> getLogsByRunUuid(String uuid);
 
+    long getLogEndOffset(String runUuid);
+
+    LogDTO appendLog(String project, String runUuid, long offset, byte[] data, int length);
+
+    void closeLog(String runUuid);
+
+    long readLog(String runUuid, long offset, long length, OutputStream out);
+
+    long readLogLines(String runUuid, long line, long lines, OutputStream out);
+
+    SseEmitter followLog(String runUuid, long offset);
+
     boolean deleteLog(String uuid);
 
+    void deleteRunLog(String runUuid);
+
     LogDTO createLog(LogDTO logDTO);
 
 }
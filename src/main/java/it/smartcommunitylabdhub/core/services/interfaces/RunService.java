@@ -19,4 +19,6 @@ public interface RunService {
 
     RunDTO createRun(RunExecDTO runExecDTO);
 
+    List<RunDTO> createRuns(List<RunExecDTO> runExecDTOs);
+
 }
@@ -0,0 +1,50 @@
+package it.smartcommunitylabdhub.core.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+public class HashUtils {
+
+    // Keys are sorted so that equal maps always give the same json
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    /**
+     * Deterministic SHA-256 of a map, independent of the order of its keys.
+     *
+     * @param map the map to hash
+     * @return hex encoded hash
+     */
+    public static String sha256(Map<String, Object> map) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(CANONICAL_MAPPER.writeValueAsBytes(map)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash map: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * SHA-256 of raw bytes, e.g. a response body.
+     *
+     * @param bytes the bytes to hash
+     * @return hex encoded hash
+     */
+    public static String sha256Bytes(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash bytes: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package it.smartcommunitylabdhub.core.utils;
+
+public class LogUtils {
+
+    /**
+     * Length of a log chunk ending on its last line, or on its last whole utf-8
+     * character if the chunk has no line end.
+     *
+     * @param buffer the chunk
+     * @param length bytes of the chunk in the buffer
+     */
+    public static int lineBoundary(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return charBoundary(buffer, length);
+    }
+
+    /**
+     * Length of a log chunk ending on its last whole utf-8 character.
+     *
+     * @param buffer the chunk
+     * @param length bytes of the chunk in the buffer
+     */
+    public static int charBoundary(byte[] buffer, int length) {
+        int start = length - 1;
+        while (start >= 0 && (buffer[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return length;
+        }
+        int lead = buffer[start] & 0xFF;
+        int size = lead < 0x80 ? 1 : lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return start + size <= length ? length : start;
+    }
+}
@@ -0,0 +1,84 @@
+package it.smartcommunitylabdhub.core.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
+public class ParallelUtils {
+
+    /**
+     * Apply the function to every item in parallel, with at most maxInFlight
+     * items processed at the same time.
+     *
+     * @return results in the order of the items
+     */
+    public static <T, R> List<R> map(List<T> items, Function<T, R> function, Executor executor,
+            int maxInFlight) {
+        // Every item is a group of its own
+        return execute(items, i -> i, function, executor, maxInFlight);
+    }
+
+    /**
+     * Apply the function to every item, items with the same key are processed
+     * one after the other in list order, different keys in parallel with at
+     * most maxInFlight groups processed at the same time.
+     *
+     * @return results in the order of the items
+     */
+    public static <T, K, R> List<R> mapGrouped(List<T> items, Function<T, K> key, Function<T, R> function,
+            Executor executor, int maxInFlight) {
+        return execute(items, i -> key.apply(items.get(i)), function, executor, maxInFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, K, R> List<R> execute(List<T> items, Function<Integer, K> key, Function<T, R> function,
+            Executor executor, int maxInFlight) {
+
+        Object[] results = new Object[items.size()];
+        Map<K, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            groups.computeIfAbsent(key.apply(i), k -> new ArrayList<>()).add(i);
+        }
+
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            for (List<Integer> group : groups.values()) {
+                inFlight.acquire();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        group.forEach(i -> results[i] = function.apply(items.get(i)));
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new WorkflowTimeout("Parallel execution cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+
+        return (List<R>) Arrays.asList(results);
+    }
+}
@@ -0,0 +1,48 @@
+package it.smartcommunitylabdhub.core.utils;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionLocks {
+
+    private static final int STRIPES = 64;
+
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Lock the keys until the current transaction completes, keys sharing a
+     * stripe share the lock. A transaction waits for any other one holding
+     * one of its stripes. Stripes are taken in order, which only prevents
+     * deadlocks within a single call: callers must call lock at most once per
+     * transaction, with all of its keys. Outside of a transaction nothing is
+     * locked.
+     */
+    public static void lock(Iterable<String> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TreeSet<Integer> stripes = new TreeSet<>();
+        keys.forEach(key -> stripes.add(Math.floorMod(key.hashCode(), STRIPES)));
+
+        for (Integer stripe : stripes) {
+            ReentrantLock lock = LOCKS[stripe];
+            lock.lock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package it.smartcommunitylabdhub.mlrun.components.client;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.smartcommunitylabdhub.core.utils.HashUtils;
+
+/**
+ * Conditional GET in front of the mlrun api. The last response of every url is
+ * kept with its ETag / Last-Modified and the digest of its body: requests are
+ * sent with If-None-Match / If-Modified-Since and an unchanged response (304,
+ * or 200 with the same body) returns the already parsed document without
+ * deserializing it again. Entries are evicted least recently used first once
+ * the cached bodies exceed max-bytes.
+ *
+ * Returned documents are shared between callers and must not be modified.
+ */
+@Component
+public class MlrunResponseCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final RestTemplate restTemplate;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries;
+    private long size;
+
+    private final Counter notModified;
+    private final Counter sameBody;
+    private final Counter miss;
+
+    public MlrunResponseCache(@Qualifier("mlrunRestTemplate") RestTemplate restTemplate,
+            @Value("${mlrun.cache.max-bytes}") long maxBytes,
+            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.maxBytes = maxBytes;
+        // Access order, the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.notModified = requests(meterRegistry, "not-modified");
+        this.sameBody = requests(meterRegistry, "same-body");
+        this.miss = requests(meterRegistry, "miss");
+        Gauge.builder("mlrun.cache.size", this, MlrunResponseCache::size)
+                .description("Bytes of mlrun responses in the cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mlrun.cache.requests")
+                .description("Mlrun GET requests by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * GET a json document from mlrun, revalidating the cached one if any.
+     * Errors are raised by the rest template as for any other call.
+     *
+     * @param url the full request url
+     * @return the parsed document, empty if mlrun returned no body
+     */
+    public Optional<Map<String, Object>> get(String url) {
+        Entry cached = lookup(url);
+
+        Entry entry = restTemplate.execute(url, HttpMethod.GET, request -> {
+            HttpHeaders headers = request.getHeaders();
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            if (cached != null && cached.etag != null) {
+                headers.setIfNoneMatch(cached.etag);
+            }
+            if (cached != null && cached.lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }, response -> read(url, cached, response));
+
+        return Optional.ofNullable(entry).map(e -> e.body);
+    }
+
+    private Entry read(String url, Entry cached, ClientHttpResponse response) throws IOException {
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            notModified.increment();
+            return cached;
+        }
+
+        byte[] bytes = StreamUtils.copyToByteArray(response.getBody());
+        if (bytes.length == 0) {
+            miss.increment();
+            return null;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        String digest = HashUtils.sha256Bytes(bytes);
+        Map<String, Object> body;
+        if (cached != null && cached.digest.equals(digest)) {
+            // Server does not support validators or changed them, the body is the same
+            sameBody.increment();
+            body = cached.body;
+        } else {
+            miss.increment();
+            body = Collections.unmodifiableMap(MAPPER.readValue(bytes, MAP_TYPE));
+        }
+
+        Entry entry = new Entry(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), digest, body,
+                bytes.length);
+        store(url, entry);
+        return entry;
+    }
+
+    private synchronized Entry lookup(String url) {
+        return entries.get(url);
+    }
+
+    private synchronized void store(String url, Entry entry) {
+        Entry previous = entries.remove(url);
+        if (previous != null) {
+            size -= previous.length;
+        }
+        if (entry.length > maxBytes) {
+            // Would evict everything else
+            return;
+        }
+        entries.put(url, entry);
+        size += entry.length;
+
+        var iterator = entries.values().iterator();
+        while (size > maxBytes && iterator.hasNext()) {
+            size -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized void evict(String url) {
+        Entry previous = entries.remove(url);
+        if (previous != null) {
+            size -= previous.length;
+        }
+    }
+
+    private record Entry(String etag, String lastModified, String digest, Map<String, Object> body,
+            long length) {
+    }
+}
@@ -1,12 +1,16 @@
 package it.smartcommunitylabdhub.mlrun.components.pollers.functions;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,15 +20,23 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
 import it.smartcommunitylabdhub.core.components.workflows.factory.WorkflowFactory;
 import it.smartcommunitylabdhub.core.components.workflows.functions.BaseWorkflowBuilder;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
 import it.smartcommunitylabdhub.core.models.accessors.enums.FunctionKind;
 import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.FunctionFieldAccessor;
 import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
 import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+import it.smartcommunitylabdhub.core.models.entities.SyncCheckpoint;
+import it.smartcommunitylabdhub.core.repositories.SyncCheckpointRepository;
 import it.smartcommunitylabdhub.core.services.interfaces.FunctionService;
+import it.smartcommunitylabdhub.core.utils.HashUtils;
+import it.smartcommunitylabdhub.core.utils.ParallelUtils;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
 
 @Component
 public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
@@ -35,10 +47,76 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
         @Value("${mlrun.api.project-url}")
         private String projectUrl;
 
-        private FunctionService functionService;
+        @Value("${mlrun.sync.full-interval}")
+        private long fullSyncInterval;
+
+        @Value("${mlrun.sync.max-in-flight}")
+        private int maxInFlight;
+
+        // Functions updated just before the watermark may be committed after the
+        // previous sync read them, look back a little to not miss them.
+        private static final long WATERMARK_OVERLAP = 5000;
+
+        private static final String CHECKPOINT = "mlrun-functions";
 
-        public FunctionWorkflowBuilder(FunctionService functionService) {
+        private FunctionService functionService;
+        private SyncCheckpointRepository syncCheckpointRepository;
+        private Executor workflowExecutor;
+        private MlrunResponseCache responseCache;
+
+        // Checkpoint of the sync in progress, stored once the sync succeeds. The
+        // sync poller never runs two polls at the same time.
+        private Date syncStarted;
+        private boolean fullSync;
+
+        // Oldest update of the functions not stored in mlrun by the sync in
+        // progress, the watermark stays below it so they are selected again
+        private final AtomicReference<Date> oldestFailure = new AtomicReference<>();
+
+        public FunctionWorkflowBuilder(FunctionService functionService,
+                        SyncCheckpointRepository syncCheckpointRepository,
+                        @Qualifier("workflowExecutor") Executor workflowExecutor,
+                        MlrunResponseCache responseCache) {
                 this.functionService = functionService;
+                this.syncCheckpointRepository = syncCheckpointRepository;
+                this.workflowExecutor = workflowExecutor;
+                this.responseCache = responseCache;
+        }
+
+        /**
+         * Functions to reconcile with mlrun: only the ones updated since the last
+         * successful sync, all of them once every full sync interval.
+         */
+        private List<FunctionDTO> selectFunctions() {
+                SyncCheckpoint checkpoint = syncCheckpointRepository.findById(CHECKPOINT)
+                                .orElseGet(() -> SyncCheckpoint.builder().id(CHECKPOINT).build());
+
+                syncStarted = new Date();
+                oldestFailure.set(null);
+                fullSync = checkpoint.getWatermark() == null || checkpoint.getLastFullSync() == null
+                                || syncStarted.getTime() - checkpoint.getLastFullSync().getTime() >= fullSyncInterval
+                                                * 1000;
+
+                if (fullSync) {
+                        return functionService.getAllLatestFunctions();
+                }
+                return functionService.getLatestFunctionsUpdatedSince(
+                                new Date(checkpoint.getWatermark().getTime() - WATERMARK_OVERLAP));
+        }
+
+        private void storeFailed(FunctionDTO function) {
+                // Unknown update time, select every function again
+                Date updated = Optional.ofNullable(function.getUpdated()).orElse(new Date(0));
+                oldestFailure.accumulateAndGet(updated,
+                                (oldest, failed) -> oldest == null || failed.before(oldest) ? failed : oldest);
+        }
+
+        /**
+         * Hash of the mlrun representation of the function, equal to the
+         * mlrun_local_hash stored at push time if the function did not change.
+         */
+        private String localHash(FunctionDTO function) {
+                return HashUtils.sha256(ConversionUtils.convert(function, "mlrunFunction"));
         }
 
         public Workflow build() {
@@ -47,22 +125,32 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                 @SuppressWarnings("unchecked")
                 Function<String, List<FunctionDTO>> compareMlrunCoreFunctions = url -> {
 
-                        HttpHeaders headers = new HttpHeaders();
-                        headers.setContentType(MediaType.APPLICATION_JSON);
-                        HttpEntity<String> entity = new HttpEntity<>(headers);
+                        List<FunctionDTO> functions = selectFunctions();
+
+                        // Remote hashes are only verified on full syncs
+                        boolean audit = fullSync;
+
+                        // Compare up to maxInFlight functions at the same time
+                        return ParallelUtils.map(functions, function -> {
+                                                boolean pushed = localHash(function)
+                                                                .equals(function.getExtra().get("mlrun_local_hash"))
+                                                                && function.getExtra().get("mlrun_hash") != null;
+                                                if (!pushed) {
+                                                        // Never pushed or changed since last push
+                                                        return function;
+                                                }
+                                                if (!audit) {
+                                                        // Unchanged since last push, no need to ask mlrun
+                                                        return null;
+                                                }
 
-                        return functionService.getAllLatestFunctions().stream()
-                                        .map(function -> {
                                                 String requestUrl = url
                                                                 .replace("{project}", function.getProject())
                                                                 .replace("{function}", function.getName());
 
                                                 try {
-                                                        ResponseEntity<Map<String, Object>> response = restTemplate
-                                                                        .exchange(requestUrl, HttpMethod.GET, entity,
-                                                                                        responseType);
-
-                                                        return Optional.ofNullable(response.getBody()).map(body -> {
+                                                        // Revalidated, not parsed again if unchanged
+                                                        return responseCache.get(requestUrl).map(body -> {
                                                                 FunctionFieldAccessor mlrunFunctionAccessor = FunctionKind
                                                                                 .valueOf(function.getKind()
                                                                                                 .toUpperCase())
@@ -89,8 +177,11 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                                                         }
                                                         // eventually ignored
                                                         return null;
+                                                } catch (ResourceAccessException | HttpServerErrorException e) {
+                                                        // MLRun is down, skip the whole sync until next poll
+                                                        throw new SkipPoll(e.getMessage(), e);
                                                 }
-                                        })
+                                        }, workflowExecutor, maxInFlight).stream()
                                         .filter(Objects::nonNull)
                                         .collect(Collectors.toList());
 
@@ -103,8 +194,9 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                         HttpHeaders headers = new HttpHeaders();
                         headers.setContentType(MediaType.APPLICATION_JSON);
 
-                        return functions.stream()
-                                        .map(function -> {
+                        // Store up to maxInFlight projects at the same time, the functions of a
+                        // project are stored in order
+                        return ParallelUtils.mapGrouped(functions, FunctionDTO::getProject, function -> {
                                                 try {
                                                         String requestUrl = functionUrl
                                                                         .replace("{project}", function.getProject())
@@ -113,6 +205,7 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                                                         // Convert function DTO into Map<String, Object>
                                                         Map<String, Object> requestBody = ConversionUtils
                                                                         .convert(function, "mlrunFunction");
+                                                        String localHash = HashUtils.sha256(requestBody);
 
                                                         // Compose request
                                                         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(
@@ -126,6 +219,9 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
 
                                                         if (response.getStatusCode().is2xxSuccessful()) {
 
+                                                                // Hash of what we pushed, to detect changes locally
+                                                                function.setExtra("mlrun_local_hash", localHash);
+
                                                                 // Set mlrun -> core : hash
                                                                 Optional.ofNullable(response.getBody())
                                                                                 .ifPresent(b -> function.setExtra(
@@ -136,11 +232,7 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                                                                                                                 .orElse("")));
 
                                                                 // Set mlrun -> core : status
-                                                                ResponseEntity<Map<String, Object>> funcResponse = restTemplate
-                                                                                .exchange(requestUrl, HttpMethod.GET,
-                                                                                                entity, responseType);
-
-                                                                Optional.ofNullable(funcResponse.getBody())
+                                                                responseCache.get(requestUrl)
                                                                                 .ifPresent(body -> {
                                                                                         FunctionFieldAccessor mlrunFunctionAccessor = FunctionKind
                                                                                                         .valueOf(function
@@ -158,12 +250,17 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                                                                 return functionService.updateFunction(function,
                                                                                 function.getId());
                                                         }
+                                                        storeFailed(function);
                                                         return null;
                                                 } catch (HttpClientErrorException ex) {
                                                         System.out.println(ex.getMessage());
+                                                        storeFailed(function);
                                                         return null;
+                                                } catch (ResourceAccessException | HttpServerErrorException ex) {
+                                                        // Functions not stored are found again at next sync
+                                                        throw new SkipPoll(ex.getMessage(), ex);
                                                 }
-                                        })
+                                        }, workflowExecutor, maxInFlight).stream()
                                         .filter(Objects::nonNull)
                                         .collect(Collectors.toList());
                 };
@@ -238,10 +335,29 @@ public class FunctionWorkflowBuilder extends BaseWorkflowBuilder {
                  * };
                  */
 
+                // COMMENT: Every function changed before the sync started is now in mlrun,
+                // move the watermark. A failed sync keeps the previous one and is redone,
+                // functions mlrun refused keep it at their update time.
+                Function<List<FunctionDTO>, List<FunctionDTO>> storeCheckpoint = functions -> {
+                        SyncCheckpoint checkpoint = syncCheckpointRepository.findById(CHECKPOINT)
+                                        .orElseGet(() -> SyncCheckpoint.builder().id(CHECKPOINT).build());
+
+                        Date failure = oldestFailure.get();
+                        checkpoint.setWatermark(failure != null && failure.before(syncStarted) ? failure : syncStarted);
+                        if (fullSync) {
+                                checkpoint.setLastFullSync(syncStarted);
+                        }
+                        syncCheckpointRepository.save(checkpoint);
+
+                        return functions;
+                };
+
                 // Define workflow steps
                 return WorkflowFactory.builder()
                                 .step(compareMlrunCoreFunctions, functionUrl)
-                                .step(storeFunctions).build();
+                                .retry(retryPolicy)
+                                .step(storeFunctions)
+                                .step(storeCheckpoint).build();
 
                 // .step(updateProject)
                 // .conditionalStep((List<FunctionFieldAccessor> s) -> s.size() > 0,
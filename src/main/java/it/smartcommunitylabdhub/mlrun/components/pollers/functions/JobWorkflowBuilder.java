@@ -4,17 +4,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import it.smartcommunitylabdhub.core.annotations.RunWorkflowComponent;
 import it.smartcommunitylabdhub.core.components.fsm.StateMachine;
@@ -22,48 +17,47 @@ import it.smartcommunitylabdhub.core.components.fsm.enums.RunEvent;
 import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
 import it.smartcommunitylabdhub.core.components.fsm.types.RunStateMachine;
 import it.smartcommunitylabdhub.core.components.kinds.factory.workflows.KindWorkflow;
+import it.smartcommunitylabdhub.core.components.workflows.factory.StepKey;
+import it.smartcommunitylabdhub.core.components.workflows.factory.StepResults;
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
 import it.smartcommunitylabdhub.core.components.workflows.factory.WorkflowFactory;
 import it.smartcommunitylabdhub.core.components.workflows.functions.BaseWorkflowBuilder;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
 import it.smartcommunitylabdhub.core.exceptions.StopPoller;
-import it.smartcommunitylabdhub.core.models.accessors.enums.DataItemKind;
-import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.DataItemFieldAccessor;
-import it.smartcommunitylabdhub.core.models.dtos.ArtifactDTO;
-import it.smartcommunitylabdhub.core.models.dtos.LogDTO;
 import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
-import it.smartcommunitylabdhub.core.services.interfaces.ArtifactService;
-import it.smartcommunitylabdhub.core.services.interfaces.LogService;
 import it.smartcommunitylabdhub.core.services.interfaces.RunService;
 import it.smartcommunitylabdhub.core.utils.MapUtils;
+import it.smartcommunitylabdhub.mlrun.components.pollers.runs.MlrunLogIngester;
+import it.smartcommunitylabdhub.mlrun.components.pollers.runs.RunStatusAggregator;
+import it.smartcommunitylabdhub.mlrun.components.pollers.sync.MlrunArtifactStore;
 
 @RunWorkflowComponent(type = "job")
 public class JobWorkflowBuilder extends BaseWorkflowBuilder implements KindWorkflow<RunDTO, Workflow> {
 
-    @Value("${mlrun.api.run-url}")
-    private String runUrl;
-
-    @Value("${mlrun.api.log-url}")
-    private String logUrl;
+    private static final StepKey<Long> LOG = StepKey.of("log");
+    private static final StepKey<Integer> ARTIFACTS = StepKey.of("artifacts");
 
     private final RunService runService;
-    private final LogService logService;
-    private final ArtifactService artifactService;
+    private final MlrunLogIngester logIngester;
+    private final MlrunArtifactStore artifactStore;
     private final RunStateMachine runStateMachine;
-    private final RestTemplate restTemplate;
+    private final RunStatusAggregator runStatusAggregator;
+    private final Executor workflowExecutor;
     private StateMachine<RunState, RunEvent, Map<String, Object>> fsm;
 
-    ObjectMapper objectMapper = new ObjectMapper();
-
     public JobWorkflowBuilder(
             RunService runService,
-            LogService logService,
-            ArtifactService artifactService,
-            RunStateMachine runStateMachine) {
+            MlrunLogIngester logIngester,
+            MlrunArtifactStore artifactStore,
+            RunStateMachine runStateMachine,
+            RunStatusAggregator runStatusAggregator,
+            @Qualifier("workflowExecutor") Executor workflowExecutor) {
         this.runService = runService;
-        this.logService = logService;
-        this.artifactService = artifactService;
-        this.restTemplate = new RestTemplate();
+        this.logIngester = logIngester;
+        this.artifactStore = artifactStore;
         this.runStateMachine = runStateMachine;
+        this.runStatusAggregator = runStatusAggregator;
+        this.workflowExecutor = workflowExecutor;
     }
 
     @SuppressWarnings("unchecked")
@@ -71,41 +65,15 @@ public class JobWorkflowBuilder extends BaseWorkflowBuilder implements KindWorkf
 
         Function<Object[], Object> getRunUpdate = params -> {
 
+            RunDTO run = (RunDTO) params[0];
+            String mlrunRunUid = run.getExtra().get("mlrun_run_uid").toString();
+
             try {
-                StateMachine<RunState, RunEvent, Map<String, Object>> stateMachine = (StateMachine<RunState, RunEvent, Map<String, Object>>) params[2];
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                HttpEntity<String> entity = new HttpEntity<>(headers);
-
-                String requestUrl = params[0].toString()
-                        .replace("{project}", ((RunDTO) params[1]).getProject())
-                        .replace("{uid}", ((RunDTO) params[1]).getExtra()
-                                .get("mlrun_run_uid").toString());
-
-                // // Write logs for run update
-                // LogWriter.writeLog(((RunDTO) params[1]).getId() + ".txt",
-                // "-------------------------------------------------\n" +
-                // "REQUEST URL UPDATE RUN : " +
-                // requestUrl + "\n" +
-                // "RunDTO ID : " + ((RunDTO) params[1]).getId() + "\n" +
-                // "RunDTO :" + ((RunDTO) params[1]).getExtra()
-                // .get("mlrun_run_uid").toString()
-                // + "\n" +
-                // "State Machine :" + stateMachine.getUuid() + "\n" +
-                // "-------------------------------------------------\n");
-                ResponseEntity<Map<String, Object>> response = restTemplate
-                        .exchange(requestUrl, HttpMethod.GET, entity,
-                                responseType);
-
-                // FIXME: delete log below
-                try {
-                    System.out.println(objectMapper.writeValueAsString(response));
-                } catch (Exception e) {
-                }
-
-                return Optional.ofNullable(response.getBody()).map(body -> {
-                    Map<String, Object> status = (Map<String, Object>) ((Map<String, Object>) body.get("data"))
-                            .get("status");
+                StateMachine<RunState, RunEvent, Map<String, Object>> stateMachine = (StateMachine<RunState, RunEvent, Map<String, Object>>) params[1];
+
+                // Run is refreshed together with all the active runs of its project
+                return runStatusAggregator.getRun(run.getProject(), mlrunRunUid).map(mlrunRun -> {
+                    Map<String, Object> status = (Map<String, Object>) mlrunRun.get("status");
 
                     if (!stateMachine.getCurrentState()
                             .equals(RunState.valueOf(status.get("state").toString().toUpperCase()))) {
@@ -122,70 +90,41 @@ public class JobWorkflowBuilder extends BaseWorkflowBuilder implements KindWorkf
                         // Store change
                         this.runService.save(runDTO);
 
+                        // Report progress so that the poller keeps polling fast
+                        return stateMachine.getCurrentState();
+
+                    } else if (stateMachine.getCurrentState().equals(RunState.RUNNING)) {
+                        // Store the log written so far, the rest is stored on completion
+                        logIngester.ingestIfDue(run.getProject(), run.getId(), mlrunRunUid);
+
                     } else if (stateMachine.getCurrentState().equals(RunState.COMPLETED)) {
-                        // Get response body and store log as well as artifacts if present.
-                        Optional.ofNullable(response.getBody()).ifPresentOrElse(b -> {
-                            // Get run uid from mlrun.
-                            MapUtils.getNestedFieldValue(b, "data").ifPresent(data -> {
-                                MapUtils.getNestedFieldValue(data, "metadata").ifPresent(metadata -> {
-                                    String uid = (String) metadata.get("uid");
-
-                                    // Call mlrun api to get log of specific run uid.
-                                    ResponseEntity<String> logResponse = restTemplate
-                                            .exchange(
-                                                    logUrl.replace("{project}", runDTO.getProject()).replace("{uid}",
-                                                            uid),
-                                                    HttpMethod.GET, entity,
-                                                    String.class);
-
-                                    // Create and store log
-                                    logService.createLog(LogDTO.builder()
-                                            .body(Map.of("content", logResponse.getBody()))
-                                            .project(runDTO.getProject())
-                                            .run(runDTO.getId()).build());
-                                });
-
-                                // get Artifacts from results
-                                MapUtils.getNestedFieldValue(data, "status").ifPresent(metadata -> {
-                                    ((List<Map<String, Object>>) metadata.get("artifacts")).stream()
-                                            .forEach(artifact -> {
-                                                DataItemFieldAccessor mlrunDataItemAccessor = DataItemKind
-                                                        .valueOf(artifact.get("kind").toString().toUpperCase())
-                                                        .createAccessor(artifact);
-
-                                                // Create artifact
-                                                ArtifactDTO artifactDTO = ArtifactDTO.builder()
-                                                        .name(mlrunDataItemAccessor.getTree())
-                                                        .project(mlrunDataItemAccessor.getProject())
-                                                        .kind(mlrunDataItemAccessor.getKind())
-                                                        .spec(mlrunDataItemAccessor.getSpecs())
-                                                        .state(mlrunDataItemAccessor.getState().toUpperCase())
-                                                        .build();
-
-                                                // Store artifact
-                                                this.artifactService.createArtifact(artifactDTO);
-
-                                            });
-                                });
-                            });
-                        }, () -> {
-                            // Could not receive body from mlrun..stop poller now
-                            throw new StopPoller(
-                                    "Poller complete with ERROR {Mlrun body not found}");
-                        });
+                        // Store log as well as artifacts if present, in parallel.
+                        storeResults(runDTO).execute(mlrunRun);
 
                         // Poller complete successfully
+                        logIngester.complete(run.getId());
                         throw new StopPoller("Poller complete SUCCESSFULLY");
 
                     } else if (stateMachine.getCurrentState().equals(RunState.ERROR)) {
 
+                        // Store the rest of the log, it tells why the run failed
+                        logIngester.ingest(run.getProject(), run.getId(), mlrunRunUid);
+
                         // State machine goes Error, stop poller
+                        logIngester.complete(run.getId());
                         throw new StopPoller("Poller complete with ERROR");
                     }
                     return null;
                 }).orElseGet(() -> null);
 
+            } catch (SkipPoll e) {
+                // MLRun is down, the run is checked again at next poll
+                throw e;
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                throw new SkipPoll(e.getMessage(), e);
             } catch (Exception e) {
+                runStatusAggregator.unregister(run.getProject(), mlrunRunUid);
+                logIngester.complete(run.getId());
                 System.out.println(e.getMessage() + " -> Stop Poller now!");
                 throw new StopPoller("STOP");
             }
@@ -194,10 +133,49 @@ public class JobWorkflowBuilder extends BaseWorkflowBuilder implements KindWorkf
 
         // Init run state machine considering current state and context.
         fsm = runStateMachine.create(RunState.valueOf(runDTO.getState()), new HashMap<>());
-        fsm.processEvent(RunEvent.BUILD, Optional.empty());
+        if (fsm.getCurrentState().equals(RunState.CREATED)) {
+            // Runs resumed after a restart are already built
+            fsm.processEvent(RunEvent.BUILD, Optional.empty());
+        }
+
+        // Define workflow steps, the aggregator retries its mlrun call, results are
+        // stored again at next poll if they fail
+        return WorkflowFactory.builder().step(getRunUpdate, runDTO, fsm).build();
+    }
+
+    /**
+     * Workflow storing the log and the artifacts of a completed mlrun run. The
+     * two are independent, the log call to mlrun overlaps with the artifacts.
+     */
+    @SuppressWarnings("unchecked")
+    private Workflow storeResults(RunDTO runDTO) {
+
+        Function<StepResults, Long> storeLog = results -> {
+            Map<String, Object> mlrunRun = results.input();
+
+            // Store the rest of the log, from the end of the chunks stored while running
+            return MapUtils.getNestedFieldValue(mlrunRun, "metadata")
+                    .map(metadata -> logIngester.ingest(runDTO.getProject(), runDTO.getId(),
+                            (String) metadata.get("uid")))
+                    .orElse(0L);
+        };
+
+        Function<StepResults, Integer> storeArtifacts = results -> {
+            Map<String, Object> mlrunRun = results.input();
+
+            // get Artifacts from results and store them in a single batch, the same
+            // versions are later found by the mlrun sync
+            return MapUtils.getNestedFieldValue(mlrunRun, "status")
+                    .map(status -> (List<Map<String, Object>>) status.get("artifacts"))
+                    .map(artifacts -> artifactStore.store(runDTO.getProject(), artifacts))
+                    .orElse(0);
+        };
 
-        // Define workflow steps
-        return WorkflowFactory.builder().step(getRunUpdate, runUrl, runDTO, fsm).build();
+        return WorkflowFactory.builder()
+                .executor(workflowExecutor)
+                .node(LOG, storeLog)
+                .node(ARTIFACTS, storeArtifacts)
+                .build();
     }
 
 }
@@ -0,0 +1,168 @@
+package it.smartcommunitylabdhub.mlrun.components.pollers.runs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
+import it.smartcommunitylabdhub.core.components.logs.LogSource;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.services.interfaces.LogService;
+import it.smartcommunitylabdhub.core.services.interfaces.RunService;
+import it.smartcommunitylabdhub.core.utils.LogUtils;
+
+/**
+ * Ingest the log of an mlrun run in chunks. The log is read from mlrun as a
+ * stream starting at the end of the last stored chunk, and every chunk of at
+ * most chunk-size bytes is stored as soon as it is read, so the log is never
+ * held in memory. Chunks end on a line, or on a character for lines longer
+ * than a chunk.
+ *
+ * Runs followed by clients are refreshed as a log source, the ingestion of a
+ * run never runs twice at the same time. Runs share a fixed set of locks by
+ * hash, a lock is never dropped while a follower may still refresh its run.
+ */
+@Component
+public class MlrunLogIngester implements LogSource {
+
+    private static final int LOCKS = 64;
+
+    @Value("${mlrun.api.log-url}")
+    private String logUrl;
+
+    @Value("${mlrun.logs.chunk-size}")
+    private int chunkSize;
+
+    @Value("${mlrun.logs.interval}")
+    private long interval;
+
+    private final RestTemplate restTemplate;
+    private final LogService logService;
+    private final RunService runService;
+    private final Map<String, Long> lastIngestion = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCKS];
+
+    public MlrunLogIngester(@Qualifier("mlrunRestTemplate") RestTemplate restTemplate, LogService logService,
+            RunService runService) {
+        this.restTemplate = restTemplate;
+        this.logService = logService;
+        this.runService = runService;
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public boolean refresh(String run) {
+        RunDTO runDTO = runService.getRun(run);
+        RunState state = RunState.valueOf(runDTO.getState());
+        Object uid = runDTO.getExtra() == null ? null : runDTO.getExtra().get("mlrun_run_uid");
+        if (uid == null) {
+            // Not submitted to mlrun yet
+            return state == RunState.CREATED || state == RunState.READY;
+        }
+
+        try {
+            ingest(runDTO.getProject(), run, uid.toString());
+        } catch (HttpClientErrorException e) {
+            // Log not available yet
+        }
+        return state != RunState.COMPLETED && state != RunState.ERROR && state != RunState.STOP;
+    }
+
+    /**
+     * Ingest the new part of the log of a running run, at most once every
+     * interval. A log not yet available in mlrun is ingested later.
+     *
+     * @return bytes ingested
+     */
+    public long ingestIfDue(String project, String runId, String uid) {
+        long now = System.currentTimeMillis();
+        Long last = lastIngestion.get(runId);
+        if (last != null && now - last < interval * 1000) {
+            return 0;
+        }
+        lastIngestion.put(runId, now);
+
+        try {
+            return ingest(project, runId, uid);
+        } catch (HttpClientErrorException e) {
+            System.out.println("Log of run " + runId + " not available: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Ingest the log of a run from the end of its last stored chunk.
+     *
+     * @param project core and mlrun project
+     * @param runId   core run id
+     * @param uid     mlrun run uid
+     * @return bytes ingested
+     */
+    public long ingest(String project, String runId, String uid) {
+        // Followed runs are also refreshed by the log tail
+        synchronized (locks[Math.floorMod(runId.hashCode(), LOCKS)]) {
+            long offset = logService.getLogEndOffset(runId);
+            String url = UriComponentsBuilder
+                    .fromHttpUrl(logUrl.replace("{project}", project).replace("{uid}", uid))
+                    .queryParam("offset", offset)
+                    .toUriString();
+
+            Long ingested = restTemplate.execute(url, HttpMethod.GET, null,
+                    response -> write(project, runId, offset, response.getBody()));
+            return ingested == null ? 0 : ingested;
+        }
+    }
+
+    /**
+     * Called once the run is over, its log is not ingested while running
+     * anymore.
+     */
+    public void complete(String runId) {
+        lastIngestion.remove(runId);
+        logService.closeLog(runId);
+    }
+
+    private long write(String project, String runId, long offset, InputStream body) throws IOException {
+        byte[] buffer = new byte[chunkSize];
+        int filled = 0;
+        long position = offset;
+
+        int read;
+        while ((read = body.read(buffer, filled, buffer.length - filled)) != -1) {
+            filled += read;
+            if (filled < buffer.length) {
+                continue;
+            }
+            int length = LogUtils.lineBoundary(buffer, filled);
+            store(project, runId, position, buffer, length);
+            position += length;
+
+            // Keep the partial line for the next chunk
+            System.arraycopy(buffer, length, buffer, 0, filled - length);
+            filled -= length;
+        }
+
+        // An incomplete character at the end is read again at next ingestion
+        int length = LogUtils.charBoundary(buffer, filled);
+        if (length > 0) {
+            store(project, runId, position, buffer, length);
+            position += length;
+        }
+        return position - offset;
+    }
+
+    private void store(String project, String runId, long offset, byte[] buffer, int length) {
+        logService.appendLog(project, runId, offset, buffer, length);
+    }
+}
@@ -0,0 +1,157 @@
+package it.smartcommunitylabdhub.mlrun.components.pollers.runs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
+import it.smartcommunitylabdhub.core.utils.MapUtils;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+
+/**
+ * Collect the active runs of each project and refresh all of them with a few
+ * list calls to MLRun per interval, each one for a batch of runs. Run pollers
+ * read their run from the last snapshot of the project instead of calling
+ * MLRun one by one.
+ */
+@Component
+public class RunStatusAggregator {
+
+    @Value("${mlrun.api.runs-url}")
+    private String runsUrl;
+
+    @Value("${mlrun.runs.refresh-interval}")
+    private long refreshInterval;
+
+    @Value("${mlrun.runs.refresh-batch-size}")
+    private int batchSize;
+
+    private final MlrunResponseCache responseCache;
+    private final RetryPolicy retryPolicy;
+    private final Map<String, ProjectRuns> projects;
+
+    public RunStatusAggregator(MlrunResponseCache responseCache,
+            @Qualifier("mlrunRetryPolicy") RetryPolicy retryPolicy) {
+        this.responseCache = responseCache;
+        this.retryPolicy = retryPolicy;
+        this.projects = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add a run to the set of runs refreshed for its project.
+     *
+     * @param project
+     * @param uid     mlrun run uid
+     */
+    public void register(String project, String uid) {
+        projects.computeIfAbsent(project, ProjectRuns::new).uids.add(uid);
+    }
+
+    /**
+     * Remove a run, the project is dropped as soon as it has no active runs.
+     *
+     * @param project
+     * @param uid     mlrun run uid
+     */
+    public void unregister(String project, String uid) {
+        projects.computeIfPresent(project, (name, projectRuns) -> {
+            projectRuns.uids.remove(uid);
+            return projectRuns.uids.isEmpty() ? null : projectRuns;
+        });
+    }
+
+    /**
+     * Return the last known mlrun document of a run, refreshing the whole
+     * project snapshot if it is older than the refresh interval.
+     *
+     * @param project
+     * @param uid     mlrun run uid
+     * @return the mlrun run (metadata, spec, status) if mlrun knows it
+     */
+    public Optional<Map<String, Object>> getRun(String project, String uid) {
+        register(project, uid);
+        ProjectRuns projectRuns = projects.get(project);
+        if (projectRuns == null) {
+            // unregistered concurrently
+            return Optional.empty();
+        }
+        return Optional.ofNullable(projectRuns.refreshIfStale().get(uid));
+    }
+
+    // Runs are asked in sorted batches, so the urls of unchanged runs hit the cache
+    private Map<String, Map<String, Object>> fetchRuns(String project, Set<String> uids) {
+        List<String> sorted = new ArrayList<>(new TreeSet<>(uids));
+        Map<String, Map<String, Object>> runs = new HashMap<>();
+        for (int from = 0; from < sorted.size(); from += batchSize) {
+            runs.putAll(fetchBatch(project, sorted.subList(from, Math.min(sorted.size(), from + batchSize))));
+        }
+        return runs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> fetchBatch(String project, List<String> uids) {
+        String requestUrl = UriComponentsBuilder.fromHttpUrl(runsUrl.replace("{project}", project))
+                .queryParam("uid", uids.toArray())
+                .toUriString();
+
+        // Unchanged runs are not parsed again
+        Map<String, Map<String, Object>> runs = new HashMap<>();
+        responseCache.get(requestUrl)
+                .map(body -> (List<Map<String, Object>>) body.get("runs"))
+                .ifPresent(list -> list.forEach(run -> MapUtils.getNestedFieldValue(run, "metadata")
+                        .map(metadata -> (String) metadata.get("uid"))
+                        .ifPresent(runUid -> runs.put(runUid, run))));
+
+        return runs;
+    }
+
+    private class ProjectRuns {
+        private final String project;
+        private final Set<String> uids;
+        private Map<String, Map<String, Object>> runs;
+        private RuntimeException lastError;
+        private long lastRefresh;
+
+        ProjectRuns(String project) {
+            this.project = project;
+            this.uids = ConcurrentHashMap.newKeySet();
+            this.runs = Map.of();
+        }
+
+        /**
+         * Only one caller per project does the request, retried with backoff,
+         * the others wait for it and read the same snapshot. A refresh failed
+         * after its retries is reported to every caller until the next interval
+         * instead of being retried by each run. The failure is shared by all the
+         * runs of the project, so it only skips their polls, it never stops them.
+         */
+        synchronized Map<String, Map<String, Object>> refreshIfStale() {
+            long now = System.currentTimeMillis();
+            if (now - lastRefresh >= refreshInterval * 1000) {
+                lastRefresh = now;
+                try {
+                    runs = retryPolicy.execute(() -> fetchRuns(project, Set.copyOf(uids)));
+                    lastError = null;
+                } catch (RuntimeException e) {
+                    lastError = e;
+                }
+            }
+            if (lastError != null) {
+                throw new SkipPoll("Runs of project " + project + " not refreshed: " + lastError.getMessage(),
+                        lastError);
+            }
+            return runs;
+        }
+    }
+}
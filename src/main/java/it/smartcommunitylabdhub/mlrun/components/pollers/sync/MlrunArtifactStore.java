@@ -0,0 +1,149 @@
+package it.smartcommunitylabdhub.mlrun.components.pollers.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import it.smartcommunitylabdhub.core.components.fsm.enums.ArtifactState;
+import it.smartcommunitylabdhub.core.models.accessors.enums.ArtifactKind;
+import it.smartcommunitylabdhub.core.models.accessors.enums.DataItemKind;
+import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.ArtifactFieldAccessor;
+import it.smartcommunitylabdhub.core.models.accessors.kinds.interfaces.DataItemFieldAccessor;
+import it.smartcommunitylabdhub.core.models.dtos.ArtifactDTO;
+import it.smartcommunitylabdhub.core.models.dtos.DataItemDTO;
+import it.smartcommunitylabdhub.core.models.enums.State;
+import it.smartcommunitylabdhub.core.services.context.interfaces.ArtifactContextService;
+import it.smartcommunitylabdhub.core.services.context.interfaces.DataItemContextService;
+
+/**
+ * Map mlrun artifacts to core artifacts and dataitems and upsert them in
+ * batches. Ids are derived from the mlrun identity of the artifact (project,
+ * key, tree, iter) so that storing the same artifact twice, from a completed
+ * run and from the sync, updates a single version.
+ */
+@Component
+public class MlrunArtifactStore {
+
+    private final ArtifactContextService artifactContextService;
+    private final DataItemContextService dataItemContextService;
+
+    public MlrunArtifactStore(ArtifactContextService artifactContextService,
+            DataItemContextService dataItemContextService) {
+        this.artifactContextService = artifactContextService;
+        this.dataItemContextService = dataItemContextService;
+    }
+
+    /**
+     * Store mlrun artifacts of a project, datasets as dataitems and everything
+     * else as artifacts.
+     *
+     * @param project        core project, must exist
+     * @param mlrunArtifacts mlrun artifact documents (kind, metadata, spec, status)
+     * @return number of artifacts and dataitems stored
+     */
+    public int store(String project, List<Map<String, Object>> mlrunArtifacts) {
+        Map<Boolean, List<Map<String, Object>>> partition = mlrunArtifacts.stream()
+                .collect(Collectors.partitioningBy(MlrunArtifactStore::isDataItem));
+
+        List<DataItemDTO> dataItems = partition.get(true).stream()
+                .map(artifact -> toDataItem(project, artifact))
+                .toList();
+        List<ArtifactDTO> artifacts = partition.get(false).stream()
+                .map(artifact -> toArtifact(project, artifact))
+                .toList();
+
+        if (!dataItems.isEmpty()) {
+            dataItemContextService.createOrUpdateDataItems(project, dataItems);
+        }
+        if (!artifacts.isEmpty()) {
+            artifactContextService.createOrUpdateArtifacts(project, artifacts);
+        }
+        return dataItems.size() + artifacts.size();
+    }
+
+    /**
+     * Last update of an mlrun artifact, as returned by mlrun.
+     */
+    public static String getUpdated(Map<String, Object> mlrunArtifact) {
+        return isDataItem(mlrunArtifact)
+                ? DataItemKind.DATASET.createAccessor(mlrunArtifact).getUpdated()
+                : artifactKind(mlrunArtifact).createAccessor(mlrunArtifact).getUpdated();
+    }
+
+    /**
+     * Core id of an mlrun artifact, the same for every page that returns it.
+     */
+    public static String getId(String project, Map<String, Object> mlrunArtifact) {
+        if (isDataItem(mlrunArtifact)) {
+            DataItemFieldAccessor accessor = DataItemKind.DATASET.createAccessor(mlrunArtifact);
+            return id(project, accessor.getKey(), accessor.getTree(), accessor.getIter());
+        }
+        ArtifactFieldAccessor accessor = artifactKind(mlrunArtifact).createAccessor(mlrunArtifact);
+        return id(project, accessor.getKey(), accessor.getTree(), accessor.getIter());
+    }
+
+    private static boolean isDataItem(Map<String, Object> mlrunArtifact) {
+        return Arrays.stream(DataItemKind.values())
+                .anyMatch(kind -> kind.getValue().equals(mlrunArtifact.get("kind")));
+    }
+
+    private static ArtifactKind artifactKind(Map<String, Object> mlrunArtifact) {
+        // Mlrun has many artifact kinds (plot, table, dir...), keep them as generic
+        // artifacts
+        return Arrays.stream(ArtifactKind.values())
+                .filter(kind -> kind.getValue().equals(mlrunArtifact.get("kind")))
+                .findFirst()
+                .orElse(ArtifactKind.ARTIFACT);
+    }
+
+    private static String id(String project, String key, String tree, Integer iter) {
+        return UUID.nameUUIDFromBytes(String.join("/", "mlrun", project, key, String.valueOf(tree),
+                String.valueOf(iter)).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static ArtifactDTO toArtifact(String project, Map<String, Object> mlrunArtifact) {
+        ArtifactFieldAccessor accessor = artifactKind(mlrunArtifact).createAccessor(mlrunArtifact);
+
+        ArtifactDTO artifactDTO = ArtifactDTO.builder()
+                .id(id(project, accessor.getKey(), accessor.getTree(), accessor.getIter()))
+                .name(accessor.getKey())
+                .project(project)
+                .kind(Optional.ofNullable(accessor.getKind()).orElse(ArtifactKind.ARTIFACT.getValue()))
+                .spec(accessor.getSpecs())
+                .state(Optional.ofNullable(accessor.getState())
+                        .map(String::toUpperCase)
+                        .filter(state -> Arrays.stream(ArtifactState.values())
+                                .anyMatch(s -> s.name().equals(state)))
+                        .orElse(null))
+                .build();
+        artifactDTO.setExtra("mlrun_tree", accessor.getTree());
+        artifactDTO.setExtra("mlrun_updated", accessor.getUpdated());
+        return artifactDTO;
+    }
+
+    private static DataItemDTO toDataItem(String project, Map<String, Object> mlrunArtifact) {
+        DataItemFieldAccessor accessor = DataItemKind.DATASET.createAccessor(mlrunArtifact);
+
+        DataItemDTO dataItemDTO = DataItemDTO.builder()
+                .id(id(project, accessor.getKey(), accessor.getTree(), accessor.getIter()))
+                .name(accessor.getKey())
+                .project(project)
+                .kind(accessor.getKind())
+                .spec(accessor.getSpecs())
+                .state(Optional.ofNullable(accessor.getState())
+                        .map(String::toUpperCase)
+                        .filter(state -> Arrays.stream(State.values())
+                                .anyMatch(s -> s.name().equals(state)))
+                        .orElse(null))
+                .build();
+        dataItemDTO.setExtra("mlrun_tree", accessor.getTree());
+        dataItemDTO.setExtra("mlrun_updated", accessor.getUpdated());
+        return dataItemDTO;
+    }
+}
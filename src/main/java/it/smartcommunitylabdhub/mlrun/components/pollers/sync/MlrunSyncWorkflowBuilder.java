@@ -0,0 +1,254 @@
+package it.smartcommunitylabdhub.mlrun.components.pollers.sync;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
+import it.smartcommunitylabdhub.core.components.workflows.factory.WorkflowFactory;
+import it.smartcommunitylabdhub.core.components.workflows.functions.BaseWorkflowBuilder;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
+import it.smartcommunitylabdhub.core.models.accessors.enums.ProjectKind;
+import it.smartcommunitylabdhub.core.models.dtos.ProjectDTO;
+import it.smartcommunitylabdhub.core.models.entities.SyncCheckpoint;
+import it.smartcommunitylabdhub.core.repositories.ProjectRepository;
+import it.smartcommunitylabdhub.core.repositories.SyncCheckpointRepository;
+import it.smartcommunitylabdhub.core.services.interfaces.ProjectService;
+import it.smartcommunitylabdhub.core.utils.ParallelUtils;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+
+/**
+ * Mlrun -> Core sync. Projects created in mlrun are created in core, then the
+ * artifacts and dataitems of every project changed since the cursor of the
+ * project are paged from mlrun and upserted in batches.
+ */
+@Component
+public class MlrunSyncWorkflowBuilder extends BaseWorkflowBuilder {
+
+        @Value("${mlrun.api.projects-url}")
+        private String projectsUrl;
+
+        @Value("${mlrun.api.artifacts-url}")
+        private String artifactsUrl;
+
+        @Value("${mlrun.reverse-sync.page-size}")
+        private int pageSize;
+
+        @Value("${mlrun.reverse-sync.max-pages}")
+        private int maxPages;
+
+        @Value("${mlrun.sync.max-in-flight}")
+        private int maxInFlight;
+
+        private static final String CHECKPOINT = "mlrun-artifacts/";
+
+        private final ProjectService projectService;
+        private final ProjectRepository projectRepository;
+        private final SyncCheckpointRepository syncCheckpointRepository;
+        private final MlrunResponseCache responseCache;
+        private final MlrunArtifactStore artifactStore;
+        private final Executor workflowExecutor;
+
+        public MlrunSyncWorkflowBuilder(ProjectService projectService,
+                        ProjectRepository projectRepository,
+                        SyncCheckpointRepository syncCheckpointRepository,
+                        MlrunResponseCache responseCache,
+                        MlrunArtifactStore artifactStore,
+                        @Qualifier("workflowExecutor") Executor workflowExecutor) {
+                this.projectService = projectService;
+                this.projectRepository = projectRepository;
+                this.syncCheckpointRepository = syncCheckpointRepository;
+                this.responseCache = responseCache;
+                this.artifactStore = artifactStore;
+                this.workflowExecutor = workflowExecutor;
+        }
+
+        private static Optional<Instant> instant(String updated) {
+                try {
+                        return Optional.ofNullable(updated).map(u -> OffsetDateTime.parse(u).toInstant());
+                } catch (DateTimeParseException e) {
+                        return Optional.empty();
+                }
+        }
+
+        /**
+         * Page through the artifacts of a project changed since its cursor. Mlrun
+         * returns a page token with every page but the last one. Pages are not
+         * sorted by update time, so the cursor moves only once the last page is
+         * stored: a sync stopped after max-pages pages keeps the cursor and
+         * resumes from its page token on the next poll, a failed sync is redone.
+         */
+        @SuppressWarnings("unchecked")
+        private Integer syncArtifacts(String project) {
+                SyncCheckpoint checkpoint = syncCheckpointRepository.findById(CHECKPOINT + project)
+                                .orElseGet(() -> SyncCheckpoint.builder().id(CHECKPOINT + project).build());
+
+                Optional<Instant> cursor = instant(checkpoint.getCursor());
+                Instant lastUpdated = cursor.orElse(null);
+                Set<String> seen = new HashSet<>();
+                String resumed = checkpoint.getPageToken();
+                String pageToken = resumed;
+                boolean complete = false;
+                int stored = 0;
+
+                try {
+                        for (int page = 1; page <= maxPages; page++) {
+                                UriComponentsBuilder builder = UriComponentsBuilder
+                                                .fromHttpUrl(artifactsUrl.replace("{project}", project))
+                                                .queryParam("format", "full");
+                                if (pageToken == null) {
+                                        builder.queryParam("page", page)
+                                                        .queryParam("page-size", pageSize);
+                                        cursor.ifPresent(c -> builder.queryParam("since", c.toString()));
+                                } else {
+                                        // The token carries the filters of the first page
+                                        builder.queryParam("page-token", pageToken);
+                                }
+
+                                // Idle projects answer not modified, nothing is parsed
+                                Map<String, Object> body = responseCache.get(builder.toUriString())
+                                                .orElse(Map.of());
+                                List<Map<String, Object>> artifacts = Optional
+                                                .ofNullable((List<Map<String, Object>>) body.get("artifacts"))
+                                                .orElse(List.of());
+                                pageToken = Optional.ofNullable((Map<String, Object>) body.get("pagination"))
+                                                .map(pagination -> (String) pagination.get("page-token"))
+                                                .orElse(null);
+
+                                // A page with only known ids means mlrun is repeating itself
+                                List<Map<String, Object>> unseen = artifacts.stream()
+                                                .filter(artifact -> seen.add(
+                                                                MlrunArtifactStore.getId(project, artifact)))
+                                                .toList();
+                                if (unseen.isEmpty() && pageToken != null) {
+                                        System.out.println("Artifacts of project " + project
+                                                        + " not synced, mlrun repeated a page");
+                                        pageToken = null;
+                                        break;
+                                }
+
+                                // Since is inclusive, skip what was already stored
+                                List<Map<String, Object>> changed = unseen.stream()
+                                                .filter(artifact -> cursor.isEmpty() || instant(
+                                                                MlrunArtifactStore.getUpdated(artifact))
+                                                                .map(updated -> updated.isAfter(cursor.get()))
+                                                                .orElse(true))
+                                                .toList();
+
+                                if (!changed.isEmpty()) {
+                                        stored += artifactStore.store(project, changed);
+                                }
+
+                                for (Map<String, Object> artifact : changed) {
+                                        Instant updated = instant(MlrunArtifactStore.getUpdated(artifact))
+                                                        .orElse(null);
+                                        if (updated != null && (lastUpdated == null || updated.isAfter(lastUpdated))) {
+                                                lastUpdated = updated;
+                                        }
+                                }
+
+                                // Servers without pagination return everything at once
+                                if (pageToken == null) {
+                                        complete = true;
+                                        break;
+                                }
+                        }
+                } catch (HttpClientErrorException e) {
+                        // Project removed from mlrun in the meantime, or the resumed token expired
+                        System.out.println(e.getMessage());
+                        if (resumed != null) {
+                                checkpoint.setPageToken(null);
+                                syncCheckpointRepository.save(checkpoint);
+                        }
+                        return 0;
+                } catch (ResourceAccessException | HttpServerErrorException e) {
+                        // MLRun is down, skip the whole sync until next poll
+                        throw new SkipPoll(e.getMessage(), e);
+                }
+
+                if (!complete && pageToken != null) {
+                        System.out.println("Artifacts of project " + project
+                                        + " not fully synced, more than " + maxPages + " pages");
+                }
+
+                // Artifacts on pages not read yet can be older than the ones stored,
+                // the cursor stays until the last page. Pages read before a resume are
+                // not part of lastUpdated, which can only leave the cursor behind.
+                String nextToken = complete ? null : pageToken;
+                boolean moved = complete && lastUpdated != null
+                                && !Objects.equals(lastUpdated, cursor.orElse(null));
+                if (moved) {
+                        checkpoint.setCursor(lastUpdated.toString());
+                }
+                if (moved || !Objects.equals(nextToken, resumed)) {
+                        checkpoint.setPageToken(nextToken);
+                        syncCheckpointRepository.save(checkpoint);
+                }
+                return stored;
+        }
+
+        public Workflow build() {
+
+                // COMMENT: Create in core the projects that only exist in mlrun, return
+                // the names of all the mlrun projects.
+                @SuppressWarnings("unchecked")
+                Function<String, List<String>> syncProjects = url -> {
+                        try {
+                                return responseCache.get(url)
+                                                .map(body -> (List<Map<String, Object>>) body.get("projects"))
+                                                .orElse(List.of())
+                                                .stream()
+                                                .map(ProjectKind.MLRUN::createAccessor)
+                                                .filter(project -> project.getName() != null)
+                                                .map(project -> {
+                                                        if (!projectRepository.existsByName(project.getName())) {
+                                                                projectService.createProject(ProjectDTO.builder()
+                                                                                .name(project.getName())
+                                                                                .description(Optional
+                                                                                                .ofNullable(project
+                                                                                                                .getSpecs())
+                                                                                                .map(spec -> (String) spec
+                                                                                                                .get("description"))
+                                                                                                .orElse(null))
+                                                                                .source("mlrun")
+                                                                                .build());
+                                                        }
+                                                        return project.getName();
+                                                })
+                                                .toList();
+                        } catch (ResourceAccessException | HttpServerErrorException e) {
+                                throw new SkipPoll(e.getMessage(), e);
+                        }
+                };
+
+                // COMMENT: For each project store the artifacts and dataitems changed
+                // since its cursor, up to maxInFlight projects at the same time.
+                Function<List<String>, Integer> syncProjectArtifacts = projects -> ParallelUtils
+                                .map(projects, this::syncArtifacts, workflowExecutor, maxInFlight)
+                                .stream()
+                                .mapToInt(Integer::intValue)
+                                .sum();
+
+                return WorkflowFactory.builder()
+                                .step(syncProjects, projectsUrl)
+                                .retry(retryPolicy)
+                                .step(syncProjectArtifacts)
+                                .build();
+        }
+}
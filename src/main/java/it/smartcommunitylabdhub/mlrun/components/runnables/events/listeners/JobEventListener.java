@@ -5,7 +5,6 @@ import java.util.Optional;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import it.smartcommunitylabdhub.core.components.events.messages.RunMessage;
@@ -36,21 +35,26 @@ public class JobEventListener {
         this.jobService = jobService;
     }
 
+    // Runs are dispatched by the run admission, the submission to mlrun happens on
+    // its thread within its limits
     @EventListener
-    @Async
     public void handle(JobMessage message) {
+        submit(message.getRunDTO());
+    }
+
+    private void submit(RunDTO runDTO) {
         String threadName = Thread.currentThread().getName();
         System.out.println("Job Service receive [" + threadName + "] task@"
-                + message.getRunDTO().getTaskId() + ":Job@"
-                + message.getRunDTO().getId());
+                + runDTO.getTaskId() + ":Job@"
+                + runDTO.getId());
 
         try {
-            Map<String, Object> body = jobService.run(message.getRunDTO());
+            Map<String, Object> body = jobService.run(runDTO);
 
             // 3. Check the result and perform actions accordingly
             Optional.ofNullable(body)
                     .ifPresentOrElse(
-                            response -> handleSuccessfulResponse(response, message.getRunDTO()),
+                            response -> handleSuccessfulResponse(response, runDTO),
                             () -> handleFailedResponse("NullBody", "No run was found on MLRun"));
 
         } catch (CoreException e) {
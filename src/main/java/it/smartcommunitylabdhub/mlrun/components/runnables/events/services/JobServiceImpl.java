@@ -1,5 +1,6 @@
 package it.smartcommunitylabdhub.mlrun.components.runnables.events.services;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
@@ -22,8 +23,8 @@ public class JobServiceImpl implements KindService<Map<String, Object>> {
 
     private final RestTemplate restTemplate;
 
-    public JobServiceImpl() {
-        this.restTemplate = new RestTemplate();
+    public JobServiceImpl(@Qualifier("mlrunRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
     }
 
     @Override
@@ -0,0 +1,127 @@
+package it.smartcommunitylabdhub.mlrun.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import it.smartcommunitylabdhub.core.components.resilience.CircuitBreaker;
+import it.smartcommunitylabdhub.core.components.resilience.CircuitBreakerInterceptor;
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.exceptions.CircuitBreakerOpen;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
+
+@Configuration
+public class MlrunClientConfig {
+
+    @Bean
+    CircuitBreaker mlrunCircuitBreaker(
+            @Value("${mlrun.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${mlrun.circuit-breaker.open-duration}") long openDuration,
+            MeterRegistry meterRegistry) {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("mlrun", failureThreshold, openDuration);
+
+        // 0 closed, 1 open, 2 half open
+        Gauge.builder("mlrun.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the circuit breaker around the mlrun api")
+                .register(meterRegistry);
+
+        return circuitBreaker;
+    }
+
+    /**
+     * Connections to mlrun are pooled and kept alive between polls instead of
+     * opening a new one for every request.
+     */
+    @Bean
+    PoolingHttpClientConnectionManager mlrunConnectionManager(
+            @Value("${mlrun.http.max-connections}") int maxConnections,
+            @Value("${mlrun.http.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${mlrun.http.connect-timeout}") long connectTimeout,
+            @Value("${mlrun.http.read-timeout}") long readTimeout,
+            @Value("${mlrun.http.idle-timeout}") long idleTimeout,
+            MeterRegistry meterRegistry) {
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setTimeToLive(TimeValue.ofMilliseconds(idleTimeout * 5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        // Expose leased, available and pending connections
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "mlrun").bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean
+    CloseableHttpClient mlrunHttpClient(PoolingHttpClientConnectionManager mlrunConnectionManager,
+            @Value("${mlrun.http.connection-request-timeout}") long connectionRequestTimeout,
+            @Value("${mlrun.http.read-timeout}") long readTimeout,
+            @Value("${mlrun.http.idle-timeout}") long idleTimeout) {
+
+        // Responses are gzip decompressed by the client, which also asks for them
+        return HttpClients.custom()
+                .setConnectionManager(mlrunConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout))
+                .build();
+    }
+
+    /**
+     * Rest template shared by all the calls to the mlrun api, on the pooled
+     * client and guarded by the mlrun circuit breaker. Built from the boot
+     * builder so that request latency is recorded as http.client.requests.
+     */
+    @Bean
+    RestTemplate mlrunRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient mlrunHttpClient,
+            CircuitBreaker mlrunCircuitBreaker) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(mlrunHttpClient))
+                .additionalInterceptors(new CircuitBreakerInterceptor(mlrunCircuitBreaker))
+                .build();
+    }
+
+    /**
+     * Retry mlrun calls failing for a transient reason. An open circuit is not
+     * retried: the breaker already knows mlrun is down.
+     */
+    @Bean
+    RetryPolicy mlrunRetryPolicy(
+            @Value("${mlrun.retry.max-attempts}") int maxAttempts,
+            @Value("${mlrun.retry.backoff}") long backoff,
+            @Value("${mlrun.retry.multiplier}") double multiplier,
+            @Value("${mlrun.retry.max-backoff}") long maxBackoff) {
+
+        return new RetryPolicy(maxAttempts, backoff, multiplier, maxBackoff,
+                e -> !(e instanceof CircuitBreakerOpen)
+                        && (e instanceof SkipPoll
+                                || e instanceof ResourceAccessException
+                                || e instanceof HttpServerErrorException));
+    }
+}
@@ -4,11 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import it.smartcommunitylabdhub.core.components.pollers.PollingService;
 import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
 import it.smartcommunitylabdhub.mlrun.components.pollers.functions.FunctionWorkflowBuilder;
+import it.smartcommunitylabdhub.mlrun.components.pollers.sync.MlrunSyncWorkflowBuilder;
 import jakarta.annotation.PostConstruct;
 
 @Configuration
@@ -20,6 +22,15 @@ public class PollerConfig {
     @Autowired
     FunctionWorkflowBuilder functionWorkflowBuilder;
 
+    @Autowired
+    MlrunSyncWorkflowBuilder mlrunSyncWorkflowBuilder;
+
+    @Value("${mlrun.sync.interval}")
+    private long syncInterval;
+
+    @Value("${mlrun.reverse-sync.interval}")
+    private long reverseSyncInterval;
+
     @PostConstruct
     public void initialize() {
 
@@ -28,8 +39,15 @@ public class PollerConfig {
         coreMlrunSyncWorkflow.add(functionWorkflowBuilder.build());
 
         // Create a new poller and start it.
-        pollingService.createPoller("DHCore-Mlrun-Sync", coreMlrunSyncWorkflow, 5, true);
+        pollingService.createPoller("DHCore-Mlrun-Sync", coreMlrunSyncWorkflow, syncInterval, true);
         pollingService.startOne("DHCore-Mlrun-Sync");
+
+        // Create and configure Mlrun -> Core sync Workflow
+        List<Workflow> mlrunCoreSyncWorkflow = new ArrayList<>();
+        mlrunCoreSyncWorkflow.add(mlrunSyncWorkflowBuilder.build());
+
+        pollingService.createPoller("Mlrun-DHCore-Sync", mlrunCoreSyncWorkflow, reverseSyncInterval, true);
+        pollingService.startOne("Mlrun-DHCore-Sync");
     }
 
 }
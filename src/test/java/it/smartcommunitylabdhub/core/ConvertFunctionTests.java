@@ -1,7 +1,9 @@
 package it.smartcommunitylabdhub.core;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,8 +12,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import it.smartcommunitylabdhub.core.models.builders.dtos.FunctionDTOBuilder;
 import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
 import it.smartcommunitylabdhub.core.models.converters.interfaces.Converter;
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+import it.smartcommunitylabdhub.core.models.entities.Function;
+import it.smartcommunitylabdhub.core.utils.HashUtils;
 
 @SpringBootTest
 class ConvertFunctionTests {
@@ -83,4 +89,49 @@ class ConvertFunctionTests {
         Assertions.assertEquals(String.class, strings.get(1).getClass()); // Assert the second element in the list
 
     }
+
+    @Test
+    void testMlrunFunctionHash() {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("image", "mlrun/mlrun");
+        spec.put("command", "run.py");
+        Map<String, Object> reversedSpec = new LinkedHashMap<>();
+        reversedSpec.put("command", "run.py");
+        reversedSpec.put("image", "mlrun/mlrun");
+
+        FunctionDTO function = FunctionDTO.builder().name("f").project("p").kind("job").spec(spec).build();
+        FunctionDTO sameFunction = FunctionDTO.builder().name("f").project("p").kind("job").spec(reversedSpec)
+                .build();
+        sameFunction.setExtra("mlrun_hash", "remote");
+
+        String hash = HashUtils.sha256(ConversionUtils.convert(function, "mlrunFunction"));
+
+        // Key order and sync metadata do not change the hash
+        Assertions.assertEquals(hash, HashUtils.sha256(ConversionUtils.convert(sameFunction, "mlrunFunction")));
+
+        spec.put("image", "mlrun/mlrun:latest");
+        Assertions.assertNotEquals(hash, HashUtils.sha256(ConversionUtils.convert(function, "mlrunFunction")));
+    }
+
+    @Test
+    void testStoredFunctionHash() {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("image", "mlrun/mlrun");
+        spec.put("command", "run.py");
+        Map<String, Object> reversedSpec = new LinkedHashMap<>();
+        reversedSpec.put("command", "run.py");
+        reversedSpec.put("image", "mlrun/mlrun");
+
+        // Specs read from the database are hashed without being decoded first
+        FunctionDTOBuilder builder = new FunctionDTOBuilder();
+        FunctionDTO stored = builder.build(Function.builder().name("f").project("p").kind("job").embedded(false)
+                .spec(ConversionUtils.convert(spec, "blob")).build(), false);
+        FunctionDTO reversed = builder.build(Function.builder().name("f").project("p").kind("job").embedded(false)
+                .spec(ConversionUtils.convert(reversedSpec, "blob")).build(), false);
+        FunctionDTO decoded = FunctionDTO.builder().name("f").project("p").kind("job").spec(spec).build();
+
+        String hash = HashUtils.sha256(ConversionUtils.convert(stored, "mlrunFunction"));
+        Assertions.assertEquals(hash, HashUtils.sha256(ConversionUtils.convert(reversed, "mlrunFunction")));
+        Assertions.assertEquals(hash, HashUtils.sha256(ConversionUtils.convert(decoded, "mlrunFunction")));
+    }
 }
@@ -0,0 +1,66 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.models.converters.ConverterFactoryImpl;
+import it.smartcommunitylabdhub.core.models.converters.types.CBORConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.DateTimeConverter;
+
+class ConverterFactoryTests {
+
+    @Test
+    void sharesConverterInstances() {
+        ConverterFactoryImpl factory = new ConverterFactoryImpl();
+        factory.registerConverter("cbor", CBORConverter::new);
+
+        Assertions.assertSame(factory.getConverter("cbor"), factory.getConverter("cbor"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.getConverter("missing"));
+    }
+
+    @Test
+    void cborRoundTrip() {
+        CBORConverter converter = new CBORConverter();
+        Map<String, Object> map = Map.of("name", "function", "args", List.of("a", "b"), "count", 3);
+
+        Assertions.assertEquals(map, converter.reverseConvert(converter.convert(map)));
+        Assertions.assertTrue(converter.reverseConvert(null).isEmpty());
+    }
+
+    @Test
+    void dateTimeIsThreadSafe() throws Exception {
+        DateTimeConverter converter = new DateTimeConverter();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                Date date = new Date(1690000000000L + i * 86400123L);
+                // compare against single threaded results
+                String formatted = converter.reverseConvert(date);
+                Date parsed = converter.convert(formatted);
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        if (!formatted.equals(converter.reverseConvert(date))
+                                || !parsed.equals(converter.convert(formatted))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assertions.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
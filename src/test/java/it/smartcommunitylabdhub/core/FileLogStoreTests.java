@@ -0,0 +1,123 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import it.smartcommunitylabdhub.core.components.logs.FileLogStore;
+import it.smartcommunitylabdhub.core.components.logs.LogStore;
+import it.smartcommunitylabdhub.core.models.entities.Log;
+
+class FileLogStoreTests {
+
+    private static final String RUN = "0f3c2b8e-6d1a-4c1e-9b7a-2d5e8f9a1b3c";
+
+    @TempDir
+    Path root;
+
+    private static long append(LogStore store, long offset, String content) throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        store.append(Log.builder().run(RUN).startOffset(offset).build(), data, data.length);
+        return offset + data.length;
+    }
+
+    private static String read(LogStore store, long from, long to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.read(RUN, from, to, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String readLines(LogStore store, long from, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.readLines(RUN, from, count, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testRangesAcrossSegments() throws IOException {
+        // Segments of 8 bytes, a line indexed every 2 lines
+        FileLogStore store = new FileLogStore(root, 8, 2);
+        long offset = append(store, 0, "line 0\nline 1\n");
+        offset = append(store, offset, "line 2\nline 3\nline 4\n");
+        append(store, offset, "line 5\n");
+
+        try (var segments = Files.list(root.resolve(RUN))) {
+            Assertions.assertEquals(3, segments.filter(file -> file.toString().endsWith(".log")).count());
+        }
+        Assertions.assertEquals("0\nline 1\nline 2", read(store, 5, 20));
+        Assertions.assertEquals("line 5\n", read(store, 35, Long.MAX_VALUE));
+        Assertions.assertEquals("line 1\nline 2\nline 3\n", readLines(store, 1, 3));
+        Assertions.assertEquals("line 4\nline 5\n", readLines(store, 4, 10));
+        Assertions.assertEquals("", readLines(store, 6, 1));
+    }
+
+    @Test
+    void testReopenAndAppendAgain() throws IOException {
+        FileLogStore store = new FileLogStore(root, 1024, 2);
+        long offset = append(store, 0, "line 0\nline 1\nline 2\n");
+
+        // Same files after a restart, the last chunk is ingested again
+        FileLogStore reopened = new FileLogStore(root, 1024, 2);
+        append(reopened, 7, "line 1\nline 2\nline 3\n");
+        append(reopened, offset + 7, "line 4\n");
+
+        Assertions.assertEquals("line 0\nline 1\nline 2\nline 3\nline 4\n", read(reopened, 0, Long.MAX_VALUE));
+        Assertions.assertEquals("line 3\nline 4\n", readLines(reopened, 3, 2));
+        Assertions.assertThrows(IOException.class, () -> append(reopened, 1000, "gap\n"));
+    }
+
+    @Test
+    void testReadsDoNotCreateAndClosedLogsReopen() throws IOException {
+        FileLogStore store = new FileLogStore(root, 1024, 2);
+
+        // Unknown run, nothing to read and nothing created
+        Assertions.assertEquals("", read(store, 0, Long.MAX_VALUE));
+        Assertions.assertEquals("", readLines(store, 0, 10));
+        Assertions.assertFalse(Files.exists(root.resolve(RUN)));
+
+        long offset = append(store, 0, "line 0\nline 1\n");
+        store.close(RUN);
+        Assertions.assertEquals("line 1\n", readLines(store, 1, 1));
+
+        // Written again after close, es: a late ingestion
+        append(store, offset, "line 2\n");
+        Assertions.assertEquals("line 0\nline 1\nline 2\n", read(store, 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testLegacyLogReadThenMovedToFiles() throws IOException {
+        // Log stored in the logs table before the file store
+        byte[] stored = "line 0\nline 1\n".getBytes(StandardCharsets.UTF_8);
+        LogStore legacy = mock(LogStore.class);
+        when(legacy.read(eq(RUN), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(1);
+            long to = Math.min(stored.length, (long) invocation.getArgument(2));
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap(stored, (int) from, (int) (to - from)));
+        });
+        FileLogStore store = new FileLogStore(root, 1024, 2, legacy);
+
+        Assertions.assertEquals("line 1\n", read(store, 7, Long.MAX_VALUE));
+        Assertions.assertFalse(Files.exists(root.resolve(RUN)));
+
+        // The run goes on writing, its stored part is copied first
+        append(store, stored.length, "line 2\n");
+        Assertions.assertEquals("line 0\nline 1\nline 2\n", read(store, 0, Long.MAX_VALUE));
+        Assertions.assertEquals("line 2\n", readLines(store, 2, 1));
+    }
+}
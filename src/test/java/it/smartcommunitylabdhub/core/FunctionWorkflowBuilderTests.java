@@ -0,0 +1,93 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.models.converters.CommandFactory;
+import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
+import it.smartcommunitylabdhub.core.models.converters.ConverterFactoryImpl;
+import it.smartcommunitylabdhub.core.models.converters.types.mlrun.FunctionToMlrunConverter;
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+import it.smartcommunitylabdhub.core.models.entities.SyncCheckpoint;
+import it.smartcommunitylabdhub.core.repositories.SyncCheckpointRepository;
+import it.smartcommunitylabdhub.core.services.interfaces.FunctionService;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+import it.smartcommunitylabdhub.mlrun.components.pollers.functions.FunctionWorkflowBuilder;
+
+class FunctionWorkflowBuilderTests {
+
+    FunctionService functionService;
+    SyncCheckpointRepository syncCheckpointRepository;
+    RestTemplate restTemplate;
+    FunctionWorkflowBuilder builder;
+
+    private CommandFactory previous;
+
+    @BeforeEach
+    public void setup() {
+        previous = ConversionUtils.getCommandFactory();
+        ConverterFactoryImpl factory = new ConverterFactoryImpl();
+        factory.registerConverter("mlrunFunction", FunctionToMlrunConverter::new);
+        new ConversionUtils().setCommandFactory(new CommandFactory(factory));
+
+        functionService = mock(FunctionService.class);
+        syncCheckpointRepository = mock(SyncCheckpointRepository.class);
+        restTemplate = mock(RestTemplate.class);
+        when(syncCheckpointRepository.findById("mlrun-functions")).thenReturn(Optional.empty());
+
+        builder = new FunctionWorkflowBuilder(functionService, syncCheckpointRepository, Runnable::run,
+                mock(MlrunResponseCache.class));
+        ReflectionTestUtils.setField(builder, "functionUrl", "http://mlrun/api/func/{project}/{function}");
+        ReflectionTestUtils.setField(builder, "fullSyncInterval", 3600L);
+        ReflectionTestUtils.setField(builder, "maxInFlight", 1);
+        ReflectionTestUtils.setField(builder, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(builder, "retryPolicy", RetryPolicy.none());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new ConversionUtils().setCommandFactory(previous);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWatermarkKeptBelowRefusedFunctions() {
+        Date updated = new Date(System.currentTimeMillis() - 60000);
+        FunctionDTO function = FunctionDTO.builder().id("f").name("f").project("p").kind("job")
+                .spec(Map.of("image", "mlrun/mlrun")).updated(updated).build();
+        when(functionService.getAllLatestFunctions()).thenReturn(List.of(function));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        builder.build().execute(null);
+
+        // The refused function is selected again by the next sync
+        ArgumentCaptor<SyncCheckpoint> checkpoint = ArgumentCaptor.forClass(SyncCheckpoint.class);
+        verify(syncCheckpointRepository).save(checkpoint.capture());
+        Assertions.assertEquals(updated, checkpoint.getValue().getWatermark());
+    }
+}
@@ -0,0 +1,86 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import it.smartcommunitylabdhub.core.models.converters.CommandFactory;
+import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
+import it.smartcommunitylabdhub.core.models.converters.ConverterFactoryImpl;
+import it.smartcommunitylabdhub.core.models.converters.LazyBlobMap;
+import it.smartcommunitylabdhub.core.models.converters.types.BlobConverter;
+import it.smartcommunitylabdhub.core.models.dtos.FunctionDTO;
+
+class LazyBlobMapTests {
+
+    private static final Map<String, Object> SPEC = Map.of("image", "mlrun/mlrun", "args", List.of("a", "b"));
+
+    private CommandFactory previous;
+
+    @BeforeEach
+    public void setup() {
+        previous = ConversionUtils.getCommandFactory();
+
+        ConverterFactoryImpl factory = new ConverterFactoryImpl();
+        factory.registerConverter("blob", () -> new BlobConverter("cbor"));
+        new ConversionUtils().setCommandFactory(new CommandFactory(factory));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new ConversionUtils().setCommandFactory(previous);
+    }
+
+    @Test
+    void decodesOnFirstAccess() {
+        byte[] bytes = ConversionUtils.convert(new HashMap<>(SPEC), "blob");
+        LazyBlobMap map = (LazyBlobMap) ConversionUtils.reverseLazy(bytes, "blob");
+
+        Assertions.assertFalse(map.isDecoded());
+        // untouched maps are stored back as read
+        Assertions.assertSame(bytes, ConversionUtils.convert(map, "blob"));
+
+        Assertions.assertEquals("mlrun/mlrun", map.get("image"));
+        Assertions.assertTrue(map.isDecoded());
+        Assertions.assertEquals(SPEC, map);
+
+        map.put("handler", "main");
+        Map<String, Object> stored = ConversionUtils.reverse(ConversionUtils.convert(map, "blob"), "blob");
+        Assertions.assertEquals("main", stored.get("handler"));
+    }
+
+    @Test
+    void decodesOnSerialization() throws Exception {
+        byte[] bytes = ConversionUtils.convert(new HashMap<>(SPEC), "blob");
+        FunctionDTO dto = FunctionDTO.builder().name("function")
+                .spec(ConversionUtils.reverseLazy(bytes, "blob"))
+                .extra(ConversionUtils.reverseLazy(ConversionUtils.convert(Map.of("tag", "latest"), "blob"),
+                        "blob"))
+                .build();
+
+        Map<?, ?> json = new ObjectMapper().readValue(new ObjectMapper().writeValueAsString(dto), Map.class);
+
+        Assertions.assertEquals(SPEC, json.get("spec"));
+        Assertions.assertEquals("latest", json.get("tag"));
+        // cbor streamed to json, the spec map was never built
+        Assertions.assertFalse(((LazyBlobMap) dto.getSpec()).isDecoded());
+
+        // decoded and changed maps are written as maps
+        dto.getSpec().put("handler", "main");
+        json = new ObjectMapper().readValue(new ObjectMapper().writeValueAsString(dto), Map.class);
+        Assertions.assertEquals("main", ((Map<?, ?>) json.get("spec")).get("handler"));
+    }
+
+    @Test
+    void emptyBlobsAreNotLazy() {
+        Assertions.assertNull(ConversionUtils.reverseLazy(ConversionUtils.convert(null, "blob"), "blob"));
+        Assertions.assertFalse(ConversionUtils.reverseLazy(null, "blob") instanceof LazyBlobMap);
+    }
+}
@@ -0,0 +1,84 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import it.smartcommunitylabdhub.core.components.logs.LogStore;
+import it.smartcommunitylabdhub.core.components.logs.LogTail;
+import it.smartcommunitylabdhub.core.models.builders.dtos.LogDTOBuilder;
+import it.smartcommunitylabdhub.core.models.converters.CommandFactory;
+import it.smartcommunitylabdhub.core.models.converters.ConversionUtils;
+import it.smartcommunitylabdhub.core.models.converters.ConverterFactoryImpl;
+import it.smartcommunitylabdhub.core.models.converters.types.BlobConverter;
+import it.smartcommunitylabdhub.core.models.dtos.LogDTO;
+import it.smartcommunitylabdhub.core.models.entities.Log;
+import it.smartcommunitylabdhub.core.models.enums.State;
+import it.smartcommunitylabdhub.core.repositories.LogRepository;
+import it.smartcommunitylabdhub.core.services.LogSerivceImpl;
+
+class LogServiceTests {
+
+    @Mock
+    LogRepository logRepository;
+
+    @Mock
+    LogStore logStore;
+
+    @Mock
+    LogTail logTail;
+
+    @Spy
+    LogDTOBuilder logDTOBuilder;
+
+    @InjectMocks
+    LogSerivceImpl logService;
+
+    private CommandFactory previous;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        previous = ConversionUtils.getCommandFactory();
+
+        ConverterFactoryImpl factory = new ConverterFactoryImpl();
+        factory.registerConverter("blob", () -> new BlobConverter("cbor"));
+        new ConversionUtils().setCommandFactory(new CommandFactory(factory));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new ConversionUtils().setCommandFactory(previous);
+    }
+
+    @Test
+    void testChunksReadFromTheStore() throws Exception {
+        // Chunk appended with the file store, the content is not in its body
+        Log log = Log.builder().id("log").project("project").run("run")
+                .startOffset(7L).endOffset(14L).state(State.CREATED).build();
+        when(logRepository.findByRunOrderByStartOffset("run")).thenReturn(List.of(log));
+        doAnswer(invocation -> {
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap("line 1\n".getBytes(StandardCharsets.UTF_8)));
+        }).when(logStore).read(eq("run"), eq(7L), eq(14L), any());
+
+        List<LogDTO> logs = logService.getLogsByRunUuid("run");
+
+        Assertions.assertEquals("line 1\n", logs.get(0).getBody().get("content"));
+    }
+}
@@ -0,0 +1,210 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+
+import it.smartcommunitylabdhub.core.components.logs.LogSource;
+import it.smartcommunitylabdhub.core.components.logs.LogStore;
+import it.smartcommunitylabdhub.core.components.logs.LogTail;
+import it.smartcommunitylabdhub.core.exceptions.CoreException;
+import it.smartcommunitylabdhub.core.repositories.LogRepository;
+
+class LogTailTests {
+
+    private static final byte[] STORED = "line 0\nline 1\n".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    LogStore logStore;
+
+    @Mock
+    LogRepository logRepository;
+
+    @Mock
+    ObjectProvider<LogSource> logSourceProvider;
+
+    @Mock
+    LogSource logSource;
+
+    private LogTail logTail;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(logSourceProvider.getIfAvailable()).thenReturn(logSource);
+        when(logRepository.findEndOffsetByRun("run")).thenReturn((long) STORED.length);
+        doAnswer(invocation -> {
+            long from = invocation.getArgument(1);
+            long to = invocation.getArgument(2);
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap(STORED, (int) from, (int) (to - from)));
+        }).when(logStore).read(eq("run"), anyLong(), anyLong(), any());
+
+        logTail = new LogTail(logStore, logRepository, logSourceProvider, 60000, 60000, 2);
+    }
+
+    @AfterEach
+    public void teardown() {
+        logTail.shutdown();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class Collector implements LogTail.Listener {
+        private final List<String> chunks = new CopyOnWriteArrayList<>();
+        private final List<Long> ends = new CopyOnWriteArrayList<>();
+        private volatile boolean complete;
+
+        @Override
+        public void onLog(String text, long end) {
+            chunks.add(text);
+            ends.add(end);
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+
+    @Test
+    void testStoredThenAppendedLog() throws Exception {
+        when(logSource.refresh("run")).thenReturn(true);
+        Collector first = new Collector();
+        Collector second = new Collector();
+
+        logTail.subscribe("run", 0, first);
+        logTail.subscribe("run", 7, second);
+        // A chunk already sent with the stored log, then a new one
+        logTail.publish("run", 7, "line 1\n".getBytes(StandardCharsets.UTF_8), 7);
+        logTail.publish("run", 14, "line 2\n".getBytes(StandardCharsets.UTF_8), 7);
+
+        await(() -> first.chunks.size() == 2 && second.chunks.size() == 2);
+        Assertions.assertEquals(List.of("line 0\nline 1\n", "line 2\n"), first.chunks);
+        Assertions.assertEquals(List.of("line 1\n", "line 2\n"), second.chunks);
+        Assertions.assertEquals(List.of(14L, 21L), second.ends);
+
+        // Both followers share the reader of the run
+        Assertions.assertEquals(1, logTail.getFollowedRuns());
+        verify(logSource, timeout(1000)).refresh("run");
+    }
+
+    @Test
+    void testFollowersCompletedWithTheRun() {
+        LogSource finished = mock(LogSource.class);
+        when(logSourceProvider.getIfAvailable()).thenReturn(finished);
+        when(finished.refresh("run")).thenReturn(false);
+        Collector collector = new Collector();
+
+        logTail.subscribe("run", 0, collector);
+
+        verify(finished, timeout(1000)).refresh("run");
+        await(() -> collector.complete);
+        Assertions.assertTrue(collector.complete);
+        Assertions.assertEquals(List.of("line 0\nline 1\n"), collector.chunks);
+        Assertions.assertEquals(0, logTail.getFollowedRuns());
+    }
+
+    @Test
+    void testUnknownRunCompleted() {
+        when(logSource.refresh("run")).thenThrow(new CoreException("RunNotFound",
+                "The run you are searching for does not exist.", HttpStatus.NOT_FOUND));
+        Collector collector = new Collector();
+
+        logTail.subscribe("run", 0, collector);
+
+        await(() -> collector.complete);
+        Assertions.assertTrue(collector.complete);
+        Assertions.assertEquals(0, logTail.getFollowedRuns());
+    }
+
+    @Test
+    void testPublishDoesNotWaitForSubscribers() throws Exception {
+        when(logSource.refresh("run")).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        Collector slow = new Collector() {
+            @Override
+            public void onLog(String text, long end) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onLog(text, end);
+            }
+        };
+
+        logTail.subscribe("run", 0, slow);
+        long start = System.currentTimeMillis();
+        logTail.publish("run", 14, "line 2\n".getBytes(StandardCharsets.UTF_8), 7);
+        Assertions.assertTrue(System.currentTimeMillis() - start < 500);
+
+        release.countDown();
+        await(() -> slow.chunks.size() == 2);
+        Assertions.assertEquals(List.of("line 0\nline 1\n", "line 2\n"), slow.chunks);
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotBlockOthers() throws Exception {
+        when(logSource.refresh(any())).thenReturn(true);
+        when(logRepository.findEndOffsetByRun(any())).thenReturn((long) STORED.length);
+        doAnswer(invocation -> {
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap(STORED));
+        }).when(logStore).read(any(), eq(0L), anyLong(), any());
+        CountDownLatch release = new CountDownLatch(1);
+
+        // More stalled clients than refresh threads, each blocked on its send
+        List<Collector> stalled = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Collector collector = new Collector() {
+                @Override
+                public void onLog(String text, long end) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            stalled.add(collector);
+            logTail.subscribe("stalled-" + i, 0, collector);
+        }
+
+        Collector collector = new Collector();
+        logTail.subscribe("run", 0, collector);
+        await(() -> collector.chunks.size() == 1);
+        Assertions.assertEquals(List.of("line 0\nline 1\n"), collector.chunks);
+        // Refreshes keep going
+        verify(logSource, timeout(1000)).refresh("run");
+
+        release.countDown();
+    }
+}
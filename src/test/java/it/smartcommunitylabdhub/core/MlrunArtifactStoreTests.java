@@ -0,0 +1,73 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import it.smartcommunitylabdhub.core.models.dtos.ArtifactDTO;
+import it.smartcommunitylabdhub.core.models.dtos.DataItemDTO;
+import it.smartcommunitylabdhub.core.services.context.interfaces.ArtifactContextService;
+import it.smartcommunitylabdhub.core.services.context.interfaces.DataItemContextService;
+import it.smartcommunitylabdhub.mlrun.components.pollers.sync.MlrunArtifactStore;
+
+class MlrunArtifactStoreTests {
+
+    private static Map<String, Object> mlrunArtifact(String kind, String key) {
+        return Map.of(
+                "kind", kind,
+                "metadata", Map.of("key", key, "tree", "run-1", "iter", 0, "project", "test",
+                        "updated", "2023-06-06T13:15:08.851869+00:00"),
+                "spec", Map.of("target_path", "s3://bucket/" + key),
+                "status", Map.of("state", "created"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchByKind() {
+        ArtifactContextService artifactContextService = mock(ArtifactContextService.class);
+        DataItemContextService dataItemContextService = mock(DataItemContextService.class);
+        MlrunArtifactStore store = new MlrunArtifactStore(artifactContextService, dataItemContextService);
+
+        int stored = store.store("test", List.of(
+                mlrunArtifact("dataset", "iris"),
+                mlrunArtifact("model", "classifier"),
+                mlrunArtifact("plot", "confusion")));
+
+        Assertions.assertEquals(3, stored);
+
+        ArgumentCaptor<List<DataItemDTO>> dataItems = ArgumentCaptor.forClass(List.class);
+        verify(dataItemContextService, times(1)).createOrUpdateDataItems(eq("test"), dataItems.capture());
+        Assertions.assertEquals(1, dataItems.getValue().size());
+        Assertions.assertEquals("iris", dataItems.getValue().get(0).getName());
+
+        ArgumentCaptor<List<ArtifactDTO>> artifacts = ArgumentCaptor.forClass(List.class);
+        verify(artifactContextService, times(1)).createOrUpdateArtifacts(eq("test"), artifacts.capture());
+        Assertions.assertEquals(List.of("model", "plot"),
+                artifacts.getValue().stream().map(ArtifactDTO::getKind).toList());
+        Assertions.assertEquals("CREATED", artifacts.getValue().get(0).getState());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStableIds() {
+        ArtifactContextService artifactContextService = mock(ArtifactContextService.class);
+        MlrunArtifactStore store = new MlrunArtifactStore(artifactContextService,
+                mock(DataItemContextService.class));
+
+        store.store("test", List.of(mlrunArtifact("model", "classifier")));
+        store.store("test", List.of(mlrunArtifact("model", "classifier")));
+
+        ArgumentCaptor<List<ArtifactDTO>> artifacts = ArgumentCaptor.forClass(List.class);
+        verify(artifactContextService, times(2)).createOrUpdateArtifacts(eq("test"), artifacts.capture());
+        Assertions.assertEquals(artifacts.getAllValues().get(0).get(0).getId(),
+                artifacts.getAllValues().get(1).get(0).getId());
+    }
+}
@@ -0,0 +1,103 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import it.smartcommunitylabdhub.core.services.interfaces.LogService;
+import it.smartcommunitylabdhub.core.services.interfaces.RunService;
+import it.smartcommunitylabdhub.core.utils.LogUtils;
+import it.smartcommunitylabdhub.mlrun.components.pollers.runs.MlrunLogIngester;
+
+class MlrunLogIngesterTests {
+
+    @Mock
+    LogService logService;
+
+    @Mock
+    RunService runService;
+
+    private MockRestServiceServer server;
+    private MlrunLogIngester ingester;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        ingester = new MlrunLogIngester(restTemplate, logService, runService);
+        ReflectionTestUtils.setField(ingester, "logUrl", "http://mlrun/api/v1/log/{project}/{uid}");
+        ReflectionTestUtils.setField(ingester, "chunkSize", 16);
+        ReflectionTestUtils.setField(ingester, "interval", 10L);
+    }
+
+    @Test
+    void testChunksEndOnLines() {
+        when(logService.getLogEndOffset("run")).thenReturn(0L);
+        server.expect(requestTo("http://mlrun/api/v1/log/test/uid?offset=0"))
+                .andRespond(withSuccess("first line\nsecond line\nthird", MediaType.TEXT_PLAIN));
+
+        Assertions.assertEquals(28, ingester.ingest("test", "run", "uid"));
+
+        ArgumentCaptor<Long> offsets = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Integer> lengths = ArgumentCaptor.forClass(Integer.class);
+        verify(logService, times(3)).appendLog(eq("test"), eq("run"), offsets.capture(), data.capture(),
+                lengths.capture());
+        Assertions.assertEquals(List.of(0L, 11L, 23L), offsets.getAllValues());
+        Assertions.assertEquals(List.of(11, 12, 5), lengths.getAllValues());
+        Assertions.assertEquals("third", new String(data.getAllValues().get(2), 0, 5, StandardCharsets.UTF_8));
+        server.verify();
+    }
+
+    @Test
+    void testResumeFromLastChunk() {
+        when(logService.getLogEndOffset("run")).thenReturn(23L);
+        server.expect(requestTo("http://mlrun/api/v1/log/test/uid?offset=23"))
+                .andRespond(withSuccess("more", MediaType.TEXT_PLAIN));
+
+        Assertions.assertEquals(4, ingester.ingest("test", "run", "uid"));
+        server.verify();
+    }
+
+    @Test
+    void testLongLinesCutOnCharacters() {
+        // 15 ascii bytes then a 2 bytes character across the chunk size
+        byte[] line = ("aaaaaaaaaaaaaaa" + "è" + "b").getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(15, LogUtils.lineBoundary(line, 16));
+        Assertions.assertEquals(18, LogUtils.lineBoundary(line, 18));
+    }
+
+    @Test
+    void testRunningRunIngestedEveryInterval() {
+        when(logService.getLogEndOffset("run")).thenReturn(0L);
+        server.expect(requestTo("http://mlrun/api/v1/log/test/uid?offset=0"))
+                .andRespond(withSuccess("line\n", MediaType.TEXT_PLAIN));
+
+        Assertions.assertEquals(5, ingester.ingestIfDue("test", "run", "uid"));
+        Assertions.assertEquals(0, ingester.ingestIfDue("test", "run", "uid"));
+        verify(logService, times(1)).appendLog(any(), any(), anyLong(), any(), anyInt());
+        server.verify();
+    }
+}
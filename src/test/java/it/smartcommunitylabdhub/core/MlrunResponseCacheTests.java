@@ -0,0 +1,85 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+
+class MlrunResponseCacheTests {
+
+    private static final String URL = "http://mlrun/api/v1/run/test/1";
+    private static final String BODY = "{\"data\":{\"status\":{\"state\":\"running\"}}}";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    public void setup() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void testNotModified() {
+        MlrunResponseCache cache = new MlrunResponseCache(restTemplate, 1024, new SimpleMeterRegistry());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        server.expect(requestTo(URL)).andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(URL)).andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        Map<String, Object> first = cache.get(URL).orElseThrow();
+        Map<String, Object> second = cache.get(URL).orElseThrow();
+
+        // Same parsed document, not deserialized again
+        Assertions.assertSame(first, second);
+        server.verify();
+    }
+
+    @Test
+    void testSameBodyWithoutValidators() {
+        MlrunResponseCache cache = new MlrunResponseCache(restTemplate, 1024, new SimpleMeterRegistry());
+
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        Assertions.assertSame(cache.get(URL).orElseThrow(), cache.get(URL).orElseThrow());
+        server.verify();
+    }
+
+    @Test
+    void testEvictionBySize() {
+        MlrunResponseCache cache = new MlrunResponseCache(restTemplate, BODY.length() * 2,
+                new SimpleMeterRegistry());
+
+        server.expect(ExpectedCount.manyTimes(), requestTo(startsWith(URL)))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        cache.get(URL + "?a");
+        cache.get(URL + "?b");
+        Assertions.assertEquals(BODY.length() * 2, cache.size());
+
+        // Third entry evicts the least recently used one
+        cache.get(URL + "?c");
+        Assertions.assertEquals(BODY.length() * 2, cache.size());
+    }
+}
@@ -0,0 +1,111 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.models.entities.SyncCheckpoint;
+import it.smartcommunitylabdhub.core.repositories.ProjectRepository;
+import it.smartcommunitylabdhub.core.repositories.SyncCheckpointRepository;
+import it.smartcommunitylabdhub.core.services.interfaces.ProjectService;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+import it.smartcommunitylabdhub.mlrun.components.pollers.sync.MlrunArtifactStore;
+import it.smartcommunitylabdhub.mlrun.components.pollers.sync.MlrunSyncWorkflowBuilder;
+
+class MlrunSyncWorkflowBuilderTests {
+
+    private static final String PROJECTS_URL = "http://mlrun/api/projects";
+    private static final String CURSOR = "2023-06-01T00:00:00Z";
+
+    MlrunResponseCache responseCache;
+    MlrunArtifactStore artifactStore;
+    SyncCheckpointRepository syncCheckpointRepository;
+    SyncCheckpoint checkpoint;
+    MlrunSyncWorkflowBuilder builder;
+
+    private static Map<String, Object> mlrunArtifact(String key, String updated) {
+        return Map.of(
+                "kind", "model",
+                "metadata", Map.of("key", key, "tree", "run-1", "iter", 0, "project", "test",
+                        "updated", updated));
+    }
+
+    private static Map<String, Object> page(String token, Map<String, Object> artifact) {
+        return token == null
+                ? Map.of("artifacts", List.of(artifact))
+                : Map.of("artifacts", List.of(artifact), "pagination", Map.of("page-token", token));
+    }
+
+    @BeforeEach
+    public void setup() {
+        responseCache = mock(MlrunResponseCache.class);
+        artifactStore = mock(MlrunArtifactStore.class);
+        syncCheckpointRepository = mock(SyncCheckpointRepository.class);
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+
+        checkpoint = SyncCheckpoint.builder().id("mlrun-artifacts/test").cursor(CURSOR).build();
+        when(syncCheckpointRepository.findById("mlrun-artifacts/test")).thenReturn(Optional.of(checkpoint));
+        when(projectRepository.existsByName("test")).thenReturn(true);
+        when(artifactStore.store(eq("test"), anyList()))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        builder = new MlrunSyncWorkflowBuilder(mock(ProjectService.class), projectRepository,
+                syncCheckpointRepository, responseCache, artifactStore, Runnable::run);
+        ReflectionTestUtils.setField(builder, "projectsUrl", PROJECTS_URL);
+        ReflectionTestUtils.setField(builder, "artifactsUrl", "http://mlrun/api/projects/{project}/artifacts");
+        ReflectionTestUtils.setField(builder, "pageSize", 1);
+        ReflectionTestUtils.setField(builder, "maxPages", 2);
+        ReflectionTestUtils.setField(builder, "maxInFlight", 1);
+        ReflectionTestUtils.setField(builder, "retryPolicy", RetryPolicy.none());
+    }
+
+    @Test
+    void testCursorKeptWhenTruncated() {
+        // Newest artifact first, an older one is still on the third page
+        when(responseCache.get(anyString())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.equals(PROJECTS_URL)) {
+                return Optional.of(Map.of("projects", List.of(Map.of("metadata", Map.of("name", "test")))));
+            }
+            if (url.contains("page-token=second")) {
+                return Optional.of(page("third", mlrunArtifact("b", "2023-06-02T00:00:00Z")));
+            }
+            if (url.contains("page-token=third")) {
+                return Optional.of(page(null, mlrunArtifact("c", "2023-06-03T00:00:00Z")));
+            }
+            return Optional.of(page("second", mlrunArtifact("a", "2023-06-05T00:00:00Z")));
+        });
+
+        Integer stored = builder.build().execute(null);
+        Assertions.assertEquals(2, stored);
+
+        // Stopped at max-pages: the cursor stays, the next sync resumes from the page
+        ArgumentCaptor<SyncCheckpoint> saved = ArgumentCaptor.forClass(SyncCheckpoint.class);
+        verify(syncCheckpointRepository, times(1)).save(saved.capture());
+        Assertions.assertEquals(CURSOR, saved.getValue().getCursor());
+        Assertions.assertEquals("third", saved.getValue().getPageToken());
+
+        // The resumed sync reaches the last page and moves the cursor
+        stored = builder.build().execute(null);
+        Assertions.assertEquals(1, stored);
+        verify(responseCache, times(1)).get(contains("page-token=third"));
+        Assertions.assertEquals("2023-06-03T00:00:00Z", checkpoint.getCursor());
+        Assertions.assertNull(checkpoint.getPageToken());
+    }
+}
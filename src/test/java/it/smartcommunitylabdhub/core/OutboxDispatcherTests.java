@@ -0,0 +1,197 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
+import it.smartcommunitylabdhub.core.components.fsm.enums.RunState;
+import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisher;
+import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisherFactory;
+import it.smartcommunitylabdhub.core.components.outbox.OutboxDispatcher;
+import it.smartcommunitylabdhub.core.exceptions.RunAdmissionRejected;
+import it.smartcommunitylabdhub.core.models.builders.dtos.RunDTOBuilder;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.models.entities.OutboxEvent;
+import it.smartcommunitylabdhub.core.models.entities.Run;
+import it.smartcommunitylabdhub.core.models.enums.OutboxStatus;
+import it.smartcommunitylabdhub.core.repositories.OutboxEventRepository;
+import it.smartcommunitylabdhub.core.repositories.RunRepository;
+
+class OutboxDispatcherTests {
+
+    @Mock
+    OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    RunRepository runRepository;
+
+    @Mock
+    RunDTOBuilder runDTOBuilder;
+
+    @Mock
+    KindPublisherFactory runPublisherFactory;
+
+    @Mock
+    RunAdmission runAdmission;
+
+    @InjectMocks
+    OutboxDispatcher dispatcher;
+
+    KindPublisher<RunDTO, Object> publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "lease", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "backoff", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+
+        publisher = mock(KindPublisher.class);
+        when(runPublisherFactory.<RunDTO, Object>getPublisher("job")).thenReturn(publisher);
+        when(runAdmission.getRoom()).thenReturn(100);
+        // Admitted runs are dispatched right away
+        doAnswer(invocation -> {
+            List<RunAdmission.Request> requests = invocation.getArgument(0);
+            requests.forEach(request -> request.task().run());
+            return null;
+        }).when(runAdmission).submitAll(anyList());
+    }
+
+    private RunDTO pending(Map<String, Object> extra, int attempts) {
+        Run run = Run.builder().id("run").state(RunState.CREATED).build();
+        RunDTO runDTO = RunDTO.builder().id("run").project("test").extra(new HashMap<>(extra)).build();
+        when(runRepository.findById("run")).thenReturn(Optional.of(run));
+        when(runDTOBuilder.build(run)).thenReturn(runDTO);
+
+        OutboxEvent event = OutboxDispatcher.runSubmit(runDTO, "job", 0);
+        event.setId("event");
+        event.setAttempts(attempts);
+        when(outboxEventRepository.findClaimable(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of("event"));
+        when(outboxEventRepository.claim(anyList(), eq(OutboxStatus.PENDING), anyString(), any(), any()))
+                .thenReturn(1);
+        when(outboxEventRepository.findByClaimToken(anyString())).thenReturn(List.of(event));
+        when(outboxEventRepository.renew(anyList(), anyString(), any())).thenReturn(1);
+        return runDTO;
+    }
+
+    @Test
+    void testEventCompletedOncePublished() {
+        RunDTO runDTO = pending(Map.of(), 0);
+
+        Assertions.assertEquals(1, dispatcher.drain());
+
+        verify(publisher, times(1)).publish(runDTO);
+        verify(outboxEventRepository, times(1)).complete(eq("event"), anyString(), eq(OutboxStatus.DONE), any());
+    }
+
+    @Test
+    void testSubmittedRunNotPublishedAgain() {
+        pending(Map.of("mlrun_run_uid", "uid"), 0);
+
+        dispatcher.drain();
+
+        verify(publisher, never()).publish(any());
+        verify(outboxEventRepository, times(1)).complete(eq("event"), anyString(), eq(OutboxStatus.DONE), any());
+    }
+
+    @Test
+    void testFailedDeliveryRetriedLater() {
+        RunDTO runDTO = pending(Map.of(), 0);
+        doThrow(new RuntimeException("mlrun down")).when(publisher).publish(runDTO);
+
+        dispatcher.drain();
+
+        ArgumentCaptor<Date> availableAt = ArgumentCaptor.forClass(Date.class);
+        verify(outboxEventRepository, times(1)).release(eq("event"), anyString(), eq(1), availableAt.capture());
+        Assertions.assertTrue(availableAt.getValue().after(new Date()));
+        verify(outboxEventRepository, never()).complete(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void testRunFailedAfterMaxAttempts() {
+        RunDTO runDTO = pending(Map.of(), 2);
+        doThrow(new RuntimeException("mlrun down")).when(publisher).publish(runDTO);
+
+        dispatcher.drain();
+
+        verify(outboxEventRepository, times(1)).complete(eq("event"), anyString(), eq(OutboxStatus.FAILED), any());
+        ArgumentCaptor<Run> saved = ArgumentCaptor.forClass(Run.class);
+        verify(runRepository, times(1)).save(saved.capture());
+        Assertions.assertEquals(RunState.ERROR, saved.getValue().getState());
+    }
+
+    @Test
+    void testRejectedEventsReleasedWithoutAttempt() {
+        pending(Map.of(), 0);
+        doThrow(new RunAdmissionRejected("full", 5)).when(runAdmission).submitAll(anyList());
+
+        dispatcher.drain();
+
+        verify(outboxEventRepository, times(1)).release(eq("event"), anyString(), eq(0), any());
+        verify(publisher, never()).publish(any());
+    }
+
+    @Test
+    void testNothingClaimedWithoutRoom() {
+        when(runAdmission.getRoom()).thenReturn(0);
+
+        Assertions.assertEquals(0, dispatcher.drain());
+
+        verify(outboxEventRepository, never()).findClaimable(any(), any(), any());
+        verify(outboxEventRepository, never()).claim(anyList(), any(), anyString(), any(), any());
+        verify(outboxEventRepository, never()).release(anyString(), anyString(), anyInt(), any());
+    }
+
+    @Test
+    void testLostClaimNotPublished() {
+        pending(Map.of(), 0);
+        when(outboxEventRepository.renew(anyList(), anyString(), any())).thenReturn(0);
+
+        dispatcher.drain();
+
+        verify(publisher, never()).publish(any());
+        verify(outboxEventRepository, never()).complete(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void testQueuedEventsRenewedNotClaimedAgain() {
+        pending(Map.of(), 0);
+        // Admitted but still waiting in the queue
+        doAnswer(invocation -> null).when(runAdmission).submitAll(anyList());
+
+        Assertions.assertEquals(1, dispatcher.drain());
+        Assertions.assertEquals(0, dispatcher.drain());
+        verify(outboxEventRepository, times(1)).claim(anyList(), any(), anyString(), any(), any());
+
+        dispatcher.renewClaims();
+        verify(outboxEventRepository, times(1)).renew(eq(List.of("event")), anyString(), any());
+    }
+}
@@ -0,0 +1,71 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.utils.ParallelUtils;
+
+class ParallelUtilsTests {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testMaxInFlight() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Integer> results = ParallelUtils.map(List.of(1, 2, 3, 4, 5, 6, 7, 8), item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return item * 10;
+        }, executor, 3);
+
+        Assertions.assertEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80), results);
+        Assertions.assertTrue(maxRunning.get() <= 3);
+        Assertions.assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    void testGroupOrdering() {
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        ParallelUtils.mapGrouped(List.of("a:1", "b:1", "a:2", "b:2", "a:3"), item -> item.split(":")[0],
+                item -> {
+                    // Later items of a group are faster, they must still wait
+                    sleep(item.endsWith("1") ? 60 : 10);
+                    processed.add(item);
+                    return item;
+                }, executor, 4);
+
+        Assertions.assertTrue(processed.indexOf("a:1") < processed.indexOf("a:2"));
+        Assertions.assertTrue(processed.indexOf("a:2") < processed.indexOf("a:3"));
+        Assertions.assertTrue(processed.indexOf("b:1") < processed.indexOf("b:2"));
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package it.smartcommunitylabdhub.core;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.components.pollers.Poller;
+import it.smartcommunitylabdhub.core.components.pollers.PollingService;
+import it.smartcommunitylabdhub.core.components.pollers.enums.PollerState;
+import it.smartcommunitylabdhub.core.components.pollers.policies.BackoffPollingPolicy;
+import it.smartcommunitylabdhub.core.components.pollers.policies.PollingPolicy;
+import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
+import it.smartcommunitylabdhub.core.components.workflows.factory.WorkflowFactory;
+import it.smartcommunitylabdhub.core.exceptions.StopPoller;
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
+class PollingServiceTests {
+
+    private PollingService pollingService;
+
+    @BeforeEach
+    public void setup() {
+        pollingService = new PollingService(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pollingService.shutdown();
+    }
+
+    @Test
+    void testPollersShareScheduler() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(20);
+        Function<Object, Object> tick = input -> {
+            latch.countDown();
+            throw new StopPoller("done");
+        };
+
+        // Twenty pollers on a single scheduler thread
+        for (int i = 0; i < 20; i++) {
+            pollingService.createPoller("poller:" + i,
+                    List.of(WorkflowFactory.builder().step(tick).build()), 0, true);
+        }
+        pollingService.startPolling();
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testStopDoesNotBlock() {
+        pollingService.createPoller("slow", List.of(WorkflowFactory.builder().step(input -> input).build()),
+                60, true);
+        pollingService.startOne("slow");
+        Assertions.assertEquals(1, pollingService.getQueueDepth());
+
+        long start = System.nanoTime();
+        pollingService.stopOne("slow");
+
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        Assertions.assertEquals(0, pollingService.getQueueDepth());
+    }
+
+    @Test
+    void testStartWithDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Function<Object, Object> tick = input -> {
+            latch.countDown();
+            throw new StopPoller("done");
+        };
+
+        pollingService.createPoller("delayed", List.of(WorkflowFactory.builder().step(tick).build()), 0, true);
+        pollingService.startOne("delayed", 500);
+
+        Assertions.assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPollerLifecycle() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Function<Object, Object> tick = input -> {
+            latch.countDown();
+            throw new StopPoller("done");
+        };
+
+        Poller poller = pollingService.createPoller("once", List.of(WorkflowFactory.builder().step(tick).build()),
+                0, true);
+        Assertions.assertEquals(PollerState.CREATED, poller.getState());
+
+        // Same name returns the active poller
+        Assertions.assertSame(poller, pollingService.createPoller("once", List.of(), 0, true));
+
+        poller.startPolling();
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        // Poller removes itself once stopped
+        for (int i = 0; i < 50 && pollingService.size() > 0; i++) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(PollerState.STOPPED, poller.getState());
+        Assertions.assertTrue(pollingService.getState("once").isEmpty());
+
+        // Stop is idempotent
+        pollingService.stopOne("once");
+        poller.stopPolling();
+        Assertions.assertEquals(PollerState.STOPPED, poller.getState());
+    }
+
+    @Test
+    void testConcurrentCreate() throws InterruptedException {
+        List<Poller> created = new CopyOnWriteArrayList<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                created.add(pollingService.createPoller("shared", List.of(), 60, true));
+            });
+            threads[i].start();
+        }
+        ready.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(1, created.stream().distinct().count());
+        Assertions.assertEquals(1, pollingService.size());
+    }
+
+    @Test
+    void testWorkflowTimeout() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        Function<Object, Object> hang = input -> {
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return input;
+        };
+
+        Poller poller = pollingService.createPoller("hung",
+                List.of(WorkflowFactory.builder().step(hang).timeout(Duration.ofMillis(100)).build()), 0, true);
+        poller.startPolling();
+
+        // Hung workflow is interrupted and the poller keeps polling
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(poller.getTimeouts() >= 1);
+        Assertions.assertTrue(poller.isActive());
+    }
+
+    @Test
+    void testStepTimeout() {
+        Function<Object, Object> slow = input -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return input;
+        };
+        Workflow workflow = WorkflowFactory.builder()
+                .step(slow).stepTimeout(Duration.ofMillis(10))
+                .step(input -> "done")
+                .build();
+
+        Assertions.assertThrows(WorkflowTimeout.class, () -> workflow.execute(null));
+    }
+
+    @Test
+    void testBackoffPolicy() {
+        PollingPolicy policy = new BackoffPollingPolicy(1000, 8000, 2.0, 0.0);
+
+        Assertions.assertEquals(1000, policy.initialDelay());
+        Assertions.assertEquals(1000, policy.nextDelay(0));
+        Assertions.assertEquals(4000, policy.nextDelay(2));
+        Assertions.assertEquals(8000, policy.nextDelay(10)); // ceiling
+    }
+
+    @Test
+    void testBackoffPolicyJitter() {
+        PollingPolicy policy = new BackoffPollingPolicy(1000, 8000, 2.0, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.nextDelay(1);
+            Assertions.assertTrue(delay >= 1600 && delay <= 2400);
+        }
+    }
+}
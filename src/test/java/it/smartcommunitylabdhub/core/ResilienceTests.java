@@ -0,0 +1,63 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.components.resilience.CircuitBreaker;
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.exceptions.CircuitBreakerOpen;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
+
+class ResilienceTests {
+
+    @Test
+    void testRetryUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy retryPolicy = new RetryPolicy(3, 1, 2.0, 10, e -> e instanceof SkipPoll);
+
+        String result = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new SkipPoll("down");
+            }
+            return "up";
+        });
+
+        Assertions.assertEquals("up", result);
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testNoRetryOnPermanentFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy retryPolicy = new RetryPolicy(3, 1, 2.0, 10, e -> e instanceof SkipPoll);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("bad");
+        }));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testCircuitBreaker() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 2, 100);
+
+        circuitBreaker.acquire();
+        circuitBreaker.onFailure();
+        circuitBreaker.acquire();
+        circuitBreaker.onFailure();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertThrows(CircuitBreakerOpen.class, circuitBreaker::acquire);
+
+        // After the open duration a single probe goes through
+        Thread.sleep(150);
+        circuitBreaker.acquire();
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        Assertions.assertThrows(CircuitBreakerOpen.class, circuitBreaker::acquire);
+
+        circuitBreaker.onSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
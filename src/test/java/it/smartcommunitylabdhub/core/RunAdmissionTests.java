@@ -0,0 +1,117 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
+import it.smartcommunitylabdhub.core.exceptions.RunAdmissionRejected;
+
+class RunAdmissionTests {
+
+    private RunAdmission runAdmission;
+
+    @AfterEach
+    public void tearDown() {
+        runAdmission.shutdown();
+    }
+
+    @Test
+    void testProjectLimit() throws InterruptedException {
+        runAdmission = new RunAdmission(4, 2, 100, 5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+
+        for (int i = 0; i < 6; i++) {
+            runAdmission.submit("project", 0, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(30);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void testPriorityAndRejection() throws InterruptedException {
+        runAdmission = new RunAdmission(1, 1, 2, 7);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        // Holds the only slot while the others queue
+        runAdmission.submit("project", 0, () -> {
+            await(blocked);
+            done.countDown();
+        });
+        runAdmission.submit("project", 0, () -> {
+            order.add("low");
+            done.countDown();
+        });
+        runAdmission.submit("project", 10, () -> {
+            order.add("high");
+            done.countDown();
+        });
+
+        Assertions.assertEquals(2, runAdmission.getQueueDepth());
+        RunAdmissionRejected rejected = Assertions.assertThrows(RunAdmissionRejected.class,
+                () -> runAdmission.submit("project", 0, () -> {
+                }));
+        Assertions.assertEquals(7, rejected.getRetryAfter());
+
+        blocked.countDown();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("high", "low"), order);
+    }
+
+    @Test
+    void testSameKeySubmittedOnce() throws InterruptedException {
+        runAdmission = new RunAdmission(1, 1, 10, 5);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicInteger runs = new AtomicInteger();
+
+        runAdmission.submit("project", 0, () -> {
+            await(blocked);
+            done.countDown();
+        });
+        // Queued, then in flight: submitting the same key again is ignored
+        for (int i = 0; i < 3; i++) {
+            runAdmission.submitAll(List.of(new RunAdmission.Request("event", "project", 0, () -> {
+                runs.incrementAndGet();
+                done.countDown();
+            })));
+        }
+        Assertions.assertEquals(1, runAdmission.getQueueDepth());
+
+        blocked.countDown();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, runs.get());
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
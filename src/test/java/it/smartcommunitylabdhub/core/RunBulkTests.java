@@ -0,0 +1,122 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import it.smartcommunitylabdhub.core.components.admission.RunAdmission;
+import it.smartcommunitylabdhub.core.components.kinds.factory.builders.KindBuilder;
+import it.smartcommunitylabdhub.core.components.kinds.factory.builders.KindBuilderFactory;
+import it.smartcommunitylabdhub.core.components.kinds.factory.publishers.KindPublisherFactory;
+import it.smartcommunitylabdhub.core.components.outbox.OutboxDispatcher;
+import it.smartcommunitylabdhub.core.models.builders.dtos.RunDTOBuilder;
+import it.smartcommunitylabdhub.core.models.builders.entities.RunEntityBuilder;
+import it.smartcommunitylabdhub.core.models.dtos.RunDTO;
+import it.smartcommunitylabdhub.core.models.dtos.TaskDTO;
+import it.smartcommunitylabdhub.core.models.dtos.custom.RunExecDTO;
+import it.smartcommunitylabdhub.core.models.entities.OutboxEvent;
+import it.smartcommunitylabdhub.core.models.entities.Run;
+import it.smartcommunitylabdhub.core.repositories.OutboxEventRepository;
+import it.smartcommunitylabdhub.core.repositories.RunRepository;
+import it.smartcommunitylabdhub.core.services.RunSerivceImpl;
+import it.smartcommunitylabdhub.core.services.interfaces.TaskService;
+
+class RunBulkTests {
+
+    @Mock
+    RunDTOBuilder runDTOBuilder;
+
+    @Mock
+    RunRepository runRepository;
+
+    @Mock
+    TaskService taskService;
+
+    @Mock
+    KindBuilderFactory runBuilderFactory;
+
+    @Mock
+    KindPublisherFactory runPublisherFactory;
+
+    @Mock
+    RunEntityBuilder runEntityBuilder;
+
+    @Mock
+    RunAdmission runAdmission;
+
+    @Mock
+    OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    OutboxDispatcher outboxDispatcher;
+
+    @InjectMocks
+    RunSerivceImpl runService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTaskResolvedOnceAndRunsStoredTogether() {
+        TaskDTO taskDTO = TaskDTO.builder().id("task").task("job://test/function:1").build();
+        when(taskService.getTask("task")).thenReturn(taskDTO);
+
+        KindBuilder<TaskDTO, RunDTO> builder = mock(KindBuilder.class);
+        when(builder.build(taskDTO)).thenReturn(RunDTO.builder()
+                .kind("run").taskId("task").project("test").spec(Map.of("function", "test/function@hash"))
+                .build());
+        when(runBuilderFactory.<TaskDTO, RunDTO>getBuilder("job")).thenReturn(builder);
+
+        ArgumentCaptor<RunDTO> built = ArgumentCaptor.forClass(RunDTO.class);
+        when(runEntityBuilder.build(built.capture())).thenAnswer(invocation -> new Run());
+        when(runRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(runDTOBuilder.build(any(Run.class))).thenAnswer(invocation -> RunDTO.builder()
+                .id(UUID.randomUUID().toString()).taskId("task").project("test").build());
+
+        List<RunExecDTO> runExecDTOs = List.of(1, 2, 3).stream()
+                .map(lr -> RunExecDTO.builder().taskId("task")
+                        .spec(new HashMap<>(Map.of("lr", lr))).build())
+                .toList();
+
+        List<RunDTO> runDTOs = runService.createRuns(runExecDTOs);
+
+        Assertions.assertEquals(3, runDTOs.size());
+        verify(taskService, times(1)).getTask("task");
+        verify(builder, times(1)).build(taskDTO);
+        verify(runRepository, times(1)).saveAll(anyList());
+        // All the runs are queued together, through the outbox
+        verify(runAdmission, times(1)).checkCapacity(0, 3);
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository, times(1)).saveAll(events.capture());
+        Assertions.assertEquals(3, events.getValue().size());
+        Assertions.assertTrue(events.getValue().stream()
+                .allMatch(event -> "job".equals(event.getKind())
+                        && event.getIdempotencyKey().equals("run.submit:" + event.getRunId())));
+        verify(outboxDispatcher, times(1)).wakeUp();
+
+        // Every run has its own spec on top of the shared one
+        Assertions.assertEquals(List.of(1, 2, 3),
+                built.getAllValues().stream().map(runDTO -> runDTO.getSpec().get("lr")).toList());
+        Assertions.assertTrue(built.getAllValues().stream()
+                .allMatch(runDTO -> "test/function@hash".equals(runDTO.getSpec().get("function"))));
+    }
+}
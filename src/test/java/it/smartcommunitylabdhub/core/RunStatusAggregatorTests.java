@@ -0,0 +1,62 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import it.smartcommunitylabdhub.core.components.resilience.RetryPolicy;
+import it.smartcommunitylabdhub.core.exceptions.SkipPoll;
+import it.smartcommunitylabdhub.mlrun.components.client.MlrunResponseCache;
+import it.smartcommunitylabdhub.mlrun.components.pollers.runs.RunStatusAggregator;
+
+class RunStatusAggregatorTests {
+
+    MlrunResponseCache responseCache;
+    RunStatusAggregator aggregator;
+
+    @BeforeEach
+    public void setup() {
+        responseCache = mock(MlrunResponseCache.class);
+        aggregator = new RunStatusAggregator(responseCache, RetryPolicy.none());
+        ReflectionTestUtils.setField(aggregator, "runsUrl", "http://mlrun/api/projects/{project}/runs");
+        ReflectionTestUtils.setField(aggregator, "refreshInterval", 60L);
+        ReflectionTestUtils.setField(aggregator, "batchSize", 2);
+    }
+
+    @Test
+    void testRunsFetchedInBatches() {
+        when(responseCache.get(anyString())).thenReturn(Optional.of(Map.of("runs",
+                List.of(Map.of("metadata", Map.of("uid", "run-3"))))));
+        for (int i = 1; i <= 5; i++) {
+            aggregator.register("test", "run-" + i);
+        }
+
+        Assertions.assertTrue(aggregator.getRun("test", "run-3").isPresent());
+        // Five runs, two per request
+        verify(responseCache, times(3)).get(anyString());
+    }
+
+    @Test
+    void testFailedRefreshSkipsPolls() {
+        when(responseCache.get(anyString()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.URI_TOO_LONG));
+
+        Assertions.assertThrows(SkipPoll.class, () -> aggregator.getRun("test", "run-1"));
+        // Reported to the other runs of the project without asking again
+        Assertions.assertThrows(SkipPoll.class, () -> aggregator.getRun("test", "run-2"));
+        verify(responseCache, times(1)).get(anyString());
+    }
+}
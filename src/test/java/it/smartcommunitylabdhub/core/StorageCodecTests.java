@@ -0,0 +1,65 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.models.converters.types.BlobConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.CBORConverter;
+import it.smartcommunitylabdhub.core.models.converters.types.KryoConverter;
+
+class StorageCodecTests {
+
+    private static Map<String, Object> spec() {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("image", "mlrun/mlrun");
+        spec.put("replicas", 1);
+        spec.put("ratio", 0.2);
+        spec.put("local", false);
+        spec.put("missing", null);
+        spec.put("args", new ArrayList<>(List.of("--input", "data.csv")));
+        spec.put("env", List.of(Map.of("name", "LOG_LEVEL", "value", "info")));
+        spec.put("resources", Map.of("limits", Map.of("cpu", "2")));
+        return spec;
+    }
+
+    @Test
+    void kryoRoundTrip() {
+        KryoConverter converter = new KryoConverter();
+
+        byte[] bytes = converter.convert(spec());
+
+        Assertions.assertEquals(KryoConverter.VERSION, bytes[0]);
+        Assertions.assertEquals(spec(), converter.reverseConvert(bytes));
+        Assertions.assertTrue(converter.reverseConvert(null).isEmpty());
+        Assertions.assertTrue(converter.reverseConvert(converter.convert(null)).isEmpty());
+    }
+
+    @Test
+    void blobReadsBothFormats() {
+        BlobConverter kryo = new BlobConverter("kryo");
+        BlobConverter cbor = new BlobConverter("cbor");
+        byte[] legacy = new CBORConverter().convert(spec());
+
+        Assertions.assertEquals(spec(), kryo.reverseConvert(legacy));
+        Assertions.assertEquals(spec(), cbor.reverseConvert(kryo.convert(spec())));
+        Assertions.assertArrayEquals(legacy, cbor.convert(spec()));
+    }
+
+    @Test
+    void blobFallsBackToCbor() {
+        BlobConverter converter = new BlobConverter("kryo");
+        Map<String, Object> map = Map.of("created", new Date(1690000000000L));
+
+        byte[] bytes = converter.convert(map);
+
+        Assertions.assertNotEquals(KryoConverter.VERSION, bytes[0]);
+        Assertions.assertEquals(1690000000000L, converter.reverseConvert(bytes).get("created"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BlobConverter("json"));
+    }
+}
@@ -0,0 +1,155 @@
+package it.smartcommunitylabdhub.core;
+
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import it.smartcommunitylabdhub.core.components.versions.VersionBackfill;
+import it.smartcommunitylabdhub.core.exceptions.CustomExceptionHandler;
+import it.smartcommunitylabdhub.core.models.entities.Artifact;
+import it.smartcommunitylabdhub.core.repositories.VersionedRepository;
+import it.smartcommunitylabdhub.core.utils.TransactionLocks;
+
+class VersioningTests {
+
+    private static Artifact artifact(String name) {
+        return Artifact.builder().project("project").name(name).kind("dataset").build();
+    }
+
+    @Test
+    void newVersionsFollowStoredOnes() {
+        VersionedRepository repository = mock(VersionedRepository.class, CALLS_REAL_METHODS);
+        doReturn(3L).when(repository).findLastVersion("project", "a");
+        doReturn(0L).when(repository).findLastVersion("project", "b");
+
+        List<Artifact> artifacts = repository.assignVersions(List.of(artifact("a"), artifact("b"), artifact("a")));
+
+        Assertions.assertEquals(4L, artifacts.get(0).getVersion());
+        Assertions.assertEquals(1L, artifacts.get(1).getVersion());
+        Assertions.assertEquals(5L, artifacts.get(2).getVersion());
+        Assertions.assertEquals(List.of(false, true, true), artifacts.stream().map(Artifact::getLatest).toList());
+
+        // name locked, then previous latest cleared once per name, before counting
+        InOrder order = inOrder(repository);
+        order.verify(repository).lockLatest("project", "a");
+        order.verify(repository).clearLatest("project", "a");
+        order.verify(repository).findLastVersion("project", "a");
+        verify(repository).clearLatest("project", "b");
+    }
+
+    @Test
+    void restoreLatestAfterDelete() {
+        VersionedRepository repository = mock(VersionedRepository.class, CALLS_REAL_METHODS);
+        doReturn(2L).when(repository).findLastVersion("project", "a");
+        doReturn(0L).when(repository).findLastVersion("project", "b");
+
+        repository.restoreLatest("project", "a");
+        repository.restoreLatest("project", "b");
+
+        verify(repository).markLatest("project", "a", 2L);
+        verify(repository, never()).markLatest("project", "b", 0L);
+    }
+
+    @Test
+    void backfillNumbersByCreation() {
+        VersionedRepository repository = mock(VersionedRepository.class, CALLS_REAL_METHODS);
+        doReturn(List.of(
+                new Object[] { "a1", "project", "a" },
+                new Object[] { "a2", "project", "a" },
+                new Object[] { "b1", "project", "b" }))
+                .when(repository).findUnversioned();
+        doReturn(0L).when(repository).findLastVersion("project", "a");
+        doReturn(0L, 1L).when(repository).findLastVersion("project", "b");
+
+        Assertions.assertEquals(3, new VersionBackfill().backfill(repository));
+
+        verify(repository).updateVersion("a1", 1L);
+        verify(repository).updateVersion("a2", 2L);
+        verify(repository).updateVersion("b1", 1L);
+        verify(repository).clearLatest("project", "a");
+        verify(repository).clearLatest("project", "b");
+        verify(repository).markLatest("project", "b", 1L);
+    }
+
+    @Test
+    void backfillNumbersBeforeNumberedVersions() {
+        VersionedRepository repository = mock(VersionedRepository.class, CALLS_REAL_METHODS);
+        doReturn(List.<Object[]>of(
+                new Object[] { "a1", "project", "a" },
+                new Object[] { "a2", "project", "a" }))
+                .when(repository).findUnversioned();
+        // a version stored after startup, then the same one moved after the old ones
+        doReturn(1L, 3L).when(repository).findLastVersion("project", "a");
+
+        Assertions.assertEquals(2, new VersionBackfill().backfill(repository));
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).negateVersions("project", "a", -2L);
+        order.verify(repository).negateVersions("project", "a", 0L);
+        order.verify(repository).updateVersion("a1", 1L);
+        order.verify(repository).updateVersion("a2", 2L);
+        order.verify(repository).clearLatest("project", "a");
+        order.verify(repository).markLatest("project", "a", 3L);
+    }
+
+    @Test
+    void namesStayLockedUntilTransactionEnds() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionLocks.lock(List.of("project/a"));
+
+            AtomicBoolean locked = new AtomicBoolean();
+            Thread other = new Thread(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                TransactionLocks.lock(List.of("project/a"));
+                locked.set(true);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                TransactionSynchronizationManager.clearSynchronization();
+            });
+            other.start();
+            other.join(200);
+            Assertions.assertFalse(locked.get());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            other.join(2000);
+            Assertions.assertTrue(locked.get());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onlyVersionConflictsAreReported() {
+        CustomExceptionHandler handler = new CustomExceptionHandler();
+
+        DataIntegrityViolationException version = new DataIntegrityViolationException("duplicate",
+                new org.hibernate.exception.ConstraintViolationException("duplicate key",
+                        new SQLException("duplicate key"), "PUBLIC.UK_ARTIFACTS_PROJECT_NAME_VERSION_INDEX_A"));
+        Assertions.assertEquals(HttpStatus.CONFLICT, handler.handleDataIntegrityViolation(version).getStatusCode());
+
+        // Other violations keep the server error, without the database message
+        DataIntegrityViolationException other = new DataIntegrityViolationException("not null",
+                new org.hibernate.exception.ConstraintViolationException("NULL not allowed for column KIND",
+                        new SQLException("NULL not allowed for column KIND"), null));
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                handler.handleDataIntegrityViolation(other).getStatusCode());
+        Assertions.assertFalse(handler.handleDataIntegrityViolation(other).getBody().getMessage().contains("KIND"));
+    }
+}
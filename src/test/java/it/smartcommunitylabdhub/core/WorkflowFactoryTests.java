@@ -0,0 +1,130 @@
+package it.smartcommunitylabdhub.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import it.smartcommunitylabdhub.core.components.workflows.factory.StepKey;
+import it.smartcommunitylabdhub.core.components.workflows.factory.StepResults;
+import it.smartcommunitylabdhub.core.components.workflows.factory.Workflow;
+import it.smartcommunitylabdhub.core.components.workflows.factory.WorkflowFactory;
+import it.smartcommunitylabdhub.core.exceptions.StopPoller;
+import it.smartcommunitylabdhub.core.exceptions.WorkflowTimeout;
+
+class WorkflowFactoryTests {
+
+    private static final StepKey<Integer> LEFT = StepKey.of("left");
+    private static final StepKey<Integer> RIGHT = StepKey.of("right");
+    private static final StepKey<Integer> SUM = StepKey.of("sum");
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGraphFanOutFanIn() {
+        Workflow workflow = WorkflowFactory.builder()
+                .executor(executor)
+                .node(LEFT, results -> results.<Integer>input() + 1)
+                .node(RIGHT, results -> results.<Integer>input() * 2)
+                .node(SUM, results -> results.get(LEFT) + results.get(RIGHT), LEFT, RIGHT)
+                .step((StepResults results) -> results.get(SUM))
+                .build();
+
+        Integer result = workflow.execute(10);
+        Assertions.assertEquals(31, result);
+    }
+
+    @Test
+    void testIndependentNodesRunInParallel() {
+        // Each node waits for the other one: they only complete if run together
+        CountDownLatch latch = new CountDownLatch(2);
+        Workflow workflow = WorkflowFactory.builder()
+                .executor(executor)
+                .node(LEFT, results -> await(latch))
+                .node(RIGHT, results -> await(latch))
+                .build();
+
+        StepResults results = workflow.execute(null);
+        Assertions.assertEquals(1, results.get(LEFT));
+        Assertions.assertEquals(1, results.get(RIGHT));
+    }
+
+    @Test
+    void testNodeFailure() {
+        Workflow workflow = WorkflowFactory.builder()
+                .executor(executor)
+                .node(LEFT, results -> {
+                    throw new StopPoller("stop");
+                })
+                .node(SUM, results -> results.get(LEFT), LEFT)
+                .build();
+
+        Assertions.assertThrows(StopPoller.class, () -> workflow.execute(null));
+    }
+
+    @Test
+    void testCancelInterruptsRunningNodes() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Workflow workflow = WorkflowFactory.builder()
+                .executor(executor)
+                .node(LEFT, results -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return 0;
+                })
+                .build();
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                workflow.execute(null);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        caller.start();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(5000);
+
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(WorkflowTimeout.class, error.get());
+    }
+
+    @Test
+    void testUnknownDependency() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WorkflowFactory.builder()
+                .node(SUM, results -> 0, LEFT));
+    }
+
+    private Integer await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS) ? 1 : 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}